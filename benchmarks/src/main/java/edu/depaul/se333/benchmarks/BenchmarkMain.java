@@ -0,0 +1,103 @@
+package edu.depaul.se333.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Runs the benchmarks (usual JMH command-line arguments apply) and keeps every run's JSON result
+ * in -Dbench.results (default benchmarks/results), named by start time. After the run it compares
+ * each score with the previous result file and marks changes beyond -Dbench.threshold percent (default 10).
+ */
+public final class BenchmarkMain {
+
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList()) {
+            Main.main(args);
+            return;
+        }
+        Path dir = Paths.get(System.getProperty("bench.results", "benchmarks/results"));
+        double threshold = Double.parseDouble(System.getProperty("bench.threshold", "10"));
+        Files.createDirectories(dir);
+
+        Optional<Path> previous = latest(dir);
+        Path current = dir.resolve(STAMP.format(LocalDateTime.now()) + ".json");
+
+        Options options = new OptionsBuilder()
+                .parent(cmd)
+                .resultFormat(ResultFormatType.JSON)
+                .result(current.toString())
+                .build();
+        new Runner(options).run();
+
+        if (!Files.exists(current)) return; // every benchmark failed
+        if (previous.isEmpty()) {
+            System.out.println("First recorded run: " + current);
+            return;
+        }
+        System.out.print(compare(scores(previous.get()), scores(current), threshold, previous.get().getFileName().toString()));
+    }
+
+    static String compare(Map<String, Double> before, Map<String, Double> after, double threshold, String baseline) {
+        StringBuilder sb = new StringBuilder("Compared with " + baseline + " (lower is better)\n");
+        for (Map.Entry<String, Double> e : new TreeMap<>(after).entrySet()) {
+            Double old = before.get(e.getKey());
+            if (old == null) {
+                sb.append(String.format("  %-70s %12.1f  new%n", e.getKey(), e.getValue()));
+                continue;
+            }
+            double change = old == 0 ? 0 : 100.0 * (e.getValue() - old) / old;
+            String mark = change > threshold ? "  SLOWER" : change < -threshold ? "  faster" : "";
+            sb.append(String.format("  %-70s %12.1f  %+6.1f%%%s%n", e.getKey(), e.getValue(), change, mark));
+        }
+        return sb.toString();
+    }
+
+    // "benchmark [param=value,...]" -> primary score
+    static Map<String, Double> scores(Path file) throws IOException {
+        Map<String, Double> out = new LinkedHashMap<>();
+        JsonArray runs = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonArray();
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            String name = run.get("benchmark").getAsString();
+            name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            if (run.has("params")) {
+                StringBuilder params = new StringBuilder();
+                run.getAsJsonObject("params").entrySet().forEach(p ->
+                        params.append(params.isEmpty() ? "" : ",").append(p.getKey()).append('=').append(p.getValue().getAsString()));
+                name += " [" + params + "]";
+            }
+            out.put(name, run.getAsJsonObject("primaryMetric").get("score").getAsDouble());
+        }
+        return out;
+    }
+
+    private static Optional<Path> latest(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().endsWith(".json")).max(Path::compareTo);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package edu.depaul.se333.benchmarks;
+
+import com.microsoft.playwright.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static playwrightTraditional.BookstoreHelpers.assertMoneyInSidebar;
+import static playwrightTraditional.BookstoreHelpers.assertTextContainsNear;
+import static playwrightTraditional.BookstoreHelpers.fillLabeled;
+
+// The test helpers as the purchase pathway calls them, plus the Payment page's content() scans
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HelperBenchmarks {
+
+    @Benchmark
+    public void assertMoneyInSidebarTax(PageFixture fixture) {
+        assertMoneyInSidebar(fixture.page, "Tax", "17.22");
+    }
+
+    @Benchmark
+    public void assertTextContainsNearContact(PageFixture fixture) {
+        assertTextContainsNear(fixture.page, "Contact Information", "312-555-1212");
+    }
+
+    @Benchmark
+    public void fillLabeledFirstName(PageFixture fixture) {
+        fillLabeled(fixture.page, "First Name", "Taylor");
+    }
+
+    // What the Payment step does today: two full serializations of the DOM
+    @Benchmark
+    public boolean pageContentTwice(PageFixture fixture) {
+        Page page = fixture.page;
+        boolean item = page.content().toLowerCase().contains("jbl quantum true wireless");
+        boolean price = page.content().contains("$164.98");
+        return item && price;
+    }
+
+    @Benchmark
+    public boolean pageContentOnce(PageFixture fixture) {
+        String html = fixture.page.content();
+        return html.toLowerCase().contains("jbl quantum true wireless") && html.contains("$164.98");
+    }
+
+    // Both checks in the page, only a boolean crosses the connection
+    @Benchmark
+    public Object textSearchInPage(PageFixture fixture) {
+        return fixture.page.evaluate("([item, price]) => { const t = document.body.innerText;"
+                + " return t.toLowerCase().includes(item) && t.includes(price); }",
+                new Object[]{"jbl quantum true wireless", "$164.98"});
+    }
+}
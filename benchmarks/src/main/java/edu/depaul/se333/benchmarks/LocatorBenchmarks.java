@@ -0,0 +1,65 @@
+package edu.depaul.se333.benchmarks;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The same element (the Contact Information section) found four ways, so selector engines can be compared
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmarks {
+
+    @State(Scope.Benchmark)
+    public static class Target {
+
+        @Param({"css", "text", "role", "xpath"})
+        String kind;
+
+        Locator locator;
+
+        @Setup
+        public void build(PageFixture fixture) {
+            Page page = fixture.page;
+            locator = switch (kind) {
+                case "css" -> page.locator("div.bned-checkout-complete > h2.bned-checkout-section-headline");
+                case "text" -> page.getByText("Contact Information", new Page.GetByTextOptions().setExact(true));
+                case "role" -> page.getByRole(AriaRole.HEADING, new Page.GetByRoleOptions().setName("Contact Information").setExact(true));
+                // How assertTextContainsNear climbs from the anchor to its section
+                case "xpath" -> page.locator("xpath=//h2[normalize-space()='Contact Information']"
+                        + "/ancestor-or-self::*[self::div or self::section][1]/h2");
+                default -> throw new IllegalArgumentException("Unknown locator kind: " + kind);
+            };
+        }
+    }
+
+    @Benchmark
+    public int count(Target target) {
+        return target.locator.count();
+    }
+
+    @Benchmark
+    public String innerText(Target target) {
+        return target.locator.first().innerText();
+    }
+
+    @Benchmark
+    public boolean isVisible(Target target) {
+        return target.locator.first().isVisible();
+    }
+}
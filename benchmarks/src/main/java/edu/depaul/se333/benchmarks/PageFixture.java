@@ -0,0 +1,49 @@
+package edu.depaul.se333.benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// One headless Chromium per fork with fixtures/checkout.html loaded, so every benchmark measures
+// driver round trips against the same DOM and nothing on the network.
+@State(Scope.Benchmark)
+public class PageFixture {
+
+    Playwright playwright;
+    Browser browser;
+    Page page;
+
+    @Setup(Level.Trial)
+    public void open() {
+        playwright = Playwright.create();
+        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        page = browser.newPage();
+        page.setContent(fixture("fixtures/checkout.html"));
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        browser.close();
+        playwright.close();
+    }
+
+    static String fixture(String resource) {
+        try (InputStream in = PageFixture.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalStateException("Missing fixture " + resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.APIRequest;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.Cookie;
+import com.microsoft.playwright.options.FormData;
+import com.microsoft.playwright.options.RequestOptions;
+import com.microsoft.playwright.options.SameSiteAttribute;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HTTP-level access to the storefront for checks that don't need a rendered page: pages are fetched
+ * with Playwright's APIRequestContext and parsed with jsoup, so each check takes milliseconds.
+ *
+ * A session either has its own cookie jar (optionally seeded from a browser's or checkpoint's storage
+ * state) or borrows a browser context's jar via {@link #of(BrowserContext, String)}, so both tiers can
+ * act as the same shopper.
+ */
+public final class ApiSession implements AutoCloseable {
+
+    public record Call(String method, String path, int status, long millis) {}
+
+    private static final Gson GSON = new Gson();
+    // One driver per worker thread; API sessions never launch a browser, and DriverCache never installs one for them
+    private static final List<Playwright> DRIVERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<Playwright> DRIVER = ThreadLocal.withInitial(() -> {
+        Playwright playwright = DriverCache.create();
+        DRIVERS.add(playwright);
+        return playwright;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ApiSession::closeDrivers, "api-driver-shutdown"));
+    }
+
+    // Command-line tools call this before System.exit, which exec:java only honours once no driver thread is left
+    static void closeDrivers() {
+        DRIVERS.forEach(Playwright::close);
+        DRIVERS.clear();
+    }
+
+    private final APIRequestContext request;
+    private final String baseUrl;
+    private final boolean owned;
+    private final List<Call> calls = new ArrayList<>();
+
+    private ApiSession(APIRequestContext request, String baseUrl, boolean owned) {
+        this.request = request;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.owned = owned;
+    }
+
+    public static ApiSession open(String baseUrl) {
+        return open(baseUrl, null);
+    }
+
+    // storageState as returned by BrowserContext.storageState() or saved in a checkpoint
+    public static ApiSession open(String baseUrl, String storageState) {
+        APIRequest.NewContextOptions options = new APIRequest.NewContextOptions();
+        if (storageState != null) options.setStorageState(storageState);
+        return new ApiSession(DRIVER.get().request().newContext(options), baseUrl, true);
+    }
+
+    // Requests go through the browser context's own cookie jar: whatever one tier does, the other sees
+    public static ApiSession of(BrowserContext context, String baseUrl) {
+        return new ApiSession(context.request(), baseUrl, false);
+    }
+
+    public Document get(String path) {
+        APIResponse response = call("GET", path, () -> request.get(url(path)));
+        assertTrue(response.ok(), "GET " + path + " returned " + response.status());
+        return Jsoup.parse(response.text(), response.url());
+    }
+
+    public JsonObject postForm(String path, Map<String, String> fields) {
+        FormData form = FormData.create();
+        fields.forEach(form::set);
+        APIResponse response = call("POST", path, () -> request.post(url(path), RequestOptions.create().setForm(form)));
+        assertTrue(response.ok(), "POST " + path + " returned " + response.status());
+        return GSON.fromJson(response.text(), JsonObject.class);
+    }
+
+    // A page form's POST, followed through its redirect to the page the browser would land on
+    public Document submitForm(String path, Map<String, String> fields) {
+        FormData form = FormData.create();
+        fields.forEach(form::set);
+        APIResponse response = call("POST", path, () -> request.post(url(path), RequestOptions.create().setForm(form)));
+        assertTrue(response.ok(), "POST " + path + " returned " + response.status());
+        return Jsoup.parse(response.text(), response.url());
+    }
+
+    public String storageState() {
+        return request.storageState();
+    }
+
+    // Copies this session's cookies into a browser context, e.g. a cart filled over HTTP before a visual check
+    public void shareCookiesWith(BrowserContext context) {
+        JsonObject state = GSON.fromJson(storageState(), JsonObject.class);
+        List<Cookie> cookies = new ArrayList<>();
+        state.getAsJsonArray("cookies").forEach(e -> {
+            JsonObject c = e.getAsJsonObject();
+            cookies.add(new Cookie(c.get("name").getAsString(), c.get("value").getAsString())
+                    .setDomain(c.get("domain").getAsString())
+                    .setPath(c.get("path").getAsString())
+                    .setExpires(c.get("expires").getAsDouble())
+                    .setHttpOnly(c.get("httpOnly").getAsBoolean())
+                    .setSecure(c.get("secure").getAsBoolean())
+                    .setSameSite(SameSiteAttribute.valueOf(c.get("sameSite").getAsString().toUpperCase())));
+        });
+        if (!cookies.isEmpty()) context.addCookies(cookies);
+    }
+
+    public List<Call> calls() {
+        return List.copyOf(calls);
+    }
+
+    public String report() {
+        long total = calls.stream().mapToLong(Call::millis).sum();
+        StringBuilder sb = new StringBuilder("API calls (" + calls.size() + ", " + total + " ms total)\n");
+        for (Call c : calls) sb.append(String.format("  %6d ms  %d %s %s%n", c.millis(), c.status(), c.method(), c.path()));
+        return sb.toString();
+    }
+
+    @Override
+    public void close() {
+        if (owned) request.dispose();
+    }
+
+    private APIResponse call(String method, String path, Supplier<APIResponse> send) {
+        long start = System.nanoTime();
+        APIResponse response = send.get();
+        calls.add(new Call(method, path, response.status(), (System.nanoTime() - start) / 1_000_000));
+        return response;
+    }
+
+    private String url(String path) {
+        if (path.startsWith("http://") || path.startsWith("https://")) return path;
+        return baseUrl + (path.startsWith("/") ? path.substring(1) : path);
+    }
+}
@@ -0,0 +1,171 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finishes a session's artifacts off the test thread. TestSession stops the trace and closes the
+ * context itself, so the browser goes back to the pool right away; what is left is file work that
+ * needs no Playwright calls: parsing the kept trace, keeping or dropping the video per VideoPolicy
+ * (moving, trimming or downscaling it with ffmpeg), recording it in manifest.json next to the videos,
+ * and pruning the oldest indexed videos beyond -Dartifacts.maxMB (default 500) or
+ * -Dartifacts.maxAgeDays (default 14).
+ *
+ * Jobs run on -Dartifacts.threads (default 2) daemon threads. BrowserPool waits for them before it
+ * shuts down; a job handed over after that runs on the caller's thread. Videos that are not in the
+ * manifest are never pruned.
+ */
+public final class ArtifactPipeline {
+
+    public record Entry(String test, String runId, String outcome, String file, long bytes, long createdAt) {}
+
+    public static final String MANIFEST = "manifest.json";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final ArtifactPipeline SHARED = new ArtifactPipeline(
+            System.getProperty("artifacts.runId", DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now())
+                    + "-" + ManagementFactory.getRuntimeMXBean().getPid()),
+            Long.getLong("artifacts.maxMB", 500) * 1024 * 1024,
+            TimeUnit.DAYS.toMillis(Long.getLong("artifacts.maxAgeDays", 14)));
+
+    public static ArtifactPipeline shared() {
+        return SHARED;
+    }
+
+    private final String runId;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final ExecutorService workers = Executors.newFixedThreadPool(Integer.getInteger("artifacts.threads", 2), r -> {
+        Thread t = new Thread(r, "artifact-pipeline");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ArtifactPipeline(String runId, long maxBytes, long maxAgeMillis) {
+        this.runId = runId;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public String runId() {
+        return runId;
+    }
+
+    // Takes over the file work left after TestSession.close: trace report, video, manifest
+    public void finish(String label, Runnable job) {
+        Runnable guarded = () -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                System.out.println("[" + label + "] artifact pipeline: " + e.getMessage());
+            }
+        };
+        try {
+            workers.submit(guarded);
+        } catch (RejectedExecutionException e) {
+            guarded.run(); // already drained: a session closed during shutdown
+        }
+    }
+
+    // Called from the job once a video has been kept; jobs run side by side, the manifest is updated one at a time
+    synchronized void index(Path video, String test, boolean failed) {
+        Path dir = video.toAbsolutePath().getParent();
+        Path manifest = dir.resolve(MANIFEST);
+        List<Entry> entries = new ArrayList<>(read(manifest));
+        try {
+            entries.add(new Entry(test, runId, failed ? "failed" : "passed", video.getFileName().toString(),
+                    Files.size(video), System.currentTimeMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        write(manifest, prune(dir, entries));
+    }
+
+    // Drops entries whose files are gone, then removes videos past the age limit, then the oldest until under the size limit
+    List<Entry> prune(Path dir, List<Entry> entries) {
+        long now = System.currentTimeMillis();
+        List<Entry> kept = new ArrayList<>();
+        for (Entry e : entries) {
+            if (!Files.exists(dir.resolve(e.file()))) continue;
+            if (now - e.createdAt() > maxAgeMillis) delete(dir, e);
+            else kept.add(e);
+        }
+        kept.sort(Comparator.comparingLong(Entry::createdAt));
+        long total = kept.stream().mapToLong(Entry::bytes).sum();
+        while (total > maxBytes && kept.size() > 1) {
+            Entry oldest = kept.remove(0);
+            delete(dir, oldest);
+            total -= oldest.bytes();
+        }
+        return kept;
+    }
+
+    // Blocks until every queued job is done; BrowserPool calls this before closing browsers, once per engine
+    public void drain(long timeout, TimeUnit unit) {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeout, unit)) System.out.println("Artifact pipeline did not finish in time");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Folds a shard's manifest into the one in target; files were moved alongside, names stay the same
+    public static void mergeManifest(Path from, Path target) throws IOException {
+        Map<String, Entry> byFile = new LinkedHashMap<>();
+        for (Entry e : read(target)) byFile.put(e.file(), e);
+        for (Entry e : read(from)) byFile.put(e.file(), e);
+        write(target, new ArrayList<>(byFile.values()));
+        Files.deleteIfExists(from);
+    }
+
+    public static List<Entry> read(Path manifest) {
+        if (!Files.exists(manifest)) return List.of();
+        try {
+            List<Entry> entries = GSON.fromJson(Files.readString(manifest, StandardCharsets.UTF_8),
+                    new TypeToken<List<Entry>>() {}.getType());
+            return entries == null ? List.of() : entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void write(Path manifest, List<Entry> entries) {
+        try {
+            Files.createDirectories(manifest.getParent());
+            Path tmp = Files.createTempFile(manifest.getParent(), "manifest", ".tmp");
+            Files.writeString(tmp, GSON.toJson(entries), StandardCharsets.UTF_8);
+            Files.move(tmp, manifest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path dir, Entry e) {
+        try {
+            Files.deleteIfExists(dir.resolve(e.file()));
+        } catch (IOException ex) {
+            System.out.println("Could not prune " + e.file() + ": " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// HTTP-only tests: no browser lease, just an ApiSession against the local stand-in.
+// Checks that need pixels, layout or client-side scripts belong in BaseTest subclasses.
+@ExtendWith({TestOutcome.class, FlakinessExtension.class})
+public abstract class BaseApiTest {
+    protected ApiSession api;
+    protected String baseUrl;
+
+    Throwable failure; // set by TestOutcome before closeApi runs
+
+    private StepLog log;
+
+    @BeforeEach
+    void openApi(TestInfo testInfo) {
+        baseUrl = BookstoreStub.baseUrl();
+        // The paths below are the stand-in's; the live storefront's endpoints differ
+        assumeTrue(System.getProperty("bookstore.url", "").isBlank(), "API tier runs against the local stand-in only");
+        String label = testInfo.getTestClass().map(Class::getSimpleName).orElse("Test") + "."
+                + testInfo.getTestMethod().map(m -> m.getName()).orElse(testInfo.getDisplayName());
+        log = new StepLog(label);
+        api = ApiSession.open(baseUrl);
+    }
+
+    @AfterEach
+    void closeApi() {
+        if (api == null) return;
+        log.summary("api-calls", api::report); // printed only when the test failed or with -Dsteplog.echo=true
+        log.close(null, failure != null);
+        api.close();
+    }
+}
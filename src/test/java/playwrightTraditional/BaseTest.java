@@ -2,42 +2,73 @@ package playwrightTraditional;
 
 import com.microsoft.playwright.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 
-import java.nio.file.Paths;
-
-@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// Browsers come from the shared BrowserPool, so each test instance only leases a context.
+// With the default per-method lifecycle, tests can run in parallel (see junit-platform.properties).
+@ExtendWith({TestOutcome.class, FlakinessExtension.class})
 public abstract class BaseTest {
     protected Playwright playwright;
     protected Browser browser;
     protected BrowserContext context;
     protected Page page;
+    protected WaitEngine waits;
+    protected String baseUrl;
 
-    @BeforeAll
-    void beforeAll() {
-        playwright = Playwright.create();
-        BrowserType.LaunchOptions launch = new BrowserType.LaunchOptions()
-                .setHeadless(true); // set true on CI if needed
-        browser = playwright.chromium().launch(launch);
-    }
+    Throwable failure; // set by TestOutcome before afterEach runs
+    String engine = BrowserPool.DEFAULT_ENGINE; // set per invocation by @BrowserMatrix
+    boolean inMatrix;
+    Scenario lastScenario;
+
+    private TestInfo testInfo;
+    private TestSession session;
 
     @BeforeEach
-    void beforeEach() {
-        // New context per test => clears cache/cookies so “TBD” taxes and cart state are correct
-        context = browser.newContext(new Browser.NewContextOptions()
-                .setRecordVideoDir(Paths.get("videos"))
-                .setRecordVideoSize(1280, 720)
-        );
-        page = context.newPage();
+    void beforeEach(TestInfo testInfo) {
+        this.testInfo = testInfo;
+        baseUrl = BookstoreStub.baseUrl(); // local stand-in unless -Dbookstore.url is set
+        session = TestSession.open(testName(), networkRules(), engine);
+        playwright = session.lease().playwright();
+        browser = session.lease().browser();
+        context = session.context();
+        page = session.page();
+        waits = session.waits();
     }
 
     @AfterEach
     void afterEach() {
-        if (context != null) context.close(); // closing context finalizes the video file
+        if (session == null) return;
+        if (failure != null) session.markFailed();
+        session.close();
+    }
+
+    // Saves cookies, storage and the current URL under a name later-stage tests can start from
+    protected void saveCheckpoint(String name) {
+        Checkpoints.shared().save(name, context, page, baseUrl);
+    }
+
+    // Starts this test from a saved checkpoint; false when none is fresh enough
+    protected boolean resumeFrom(String name) {
+        return Checkpoints.shared().restore(name, context, page, baseUrl);
+    }
+
+    // A step graph: the first branch runs on this test's page, others get sessions set up like it
+    protected Scenario scenario() {
+        NetworkRules rules = networkRules();
+        lastScenario = new Scenario(testName(), baseUrl, label -> TestSession.open(label, rules, engine), session);
+        return lastScenario;
+    }
+
+    protected String testName() {
+        String cls = testInfo.getTestClass().map(Class::getSimpleName).orElse("Test");
+        String name = cls + "." + testInfo.getTestMethod().map(m -> m.getName()).orElse(testInfo.getDisplayName());
+        return inMatrix ? name + "[" + engine + "]" : name;
     }
 
-    @AfterAll
-    void afterAll() {
-        if (browser != null) browser.close();
-        if (playwright != null) playwright.close();
+    private NetworkRules networkRules() {
+        NetworkRules onMethod = testInfo.getTestMethod().map(m -> m.getAnnotation(NetworkRules.class)).orElse(null);
+        if (onMethod != null) return onMethod;
+        NetworkRules onClass = testInfo.getTestClass().map(c -> c.getAnnotation(NetworkRules.class)).orElse(null);
+        return onClass != null ? onClass : RequestFilter.DEFAULT_RULES;
     }
 }
@@ -0,0 +1,88 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads visibility, text and bounding boxes for every element a locator matches in one evaluateAll call.
+ * Looping over nth(i).isVisible() / nth(i).innerText() costs a driver round trip per element and per property;
+ * these helpers cost one round trip however many elements match.
+ */
+public final class BatchQuery {
+
+    public record Box(double x, double y, double width, double height) {}
+
+    public record ElementInfo(int index, String tag, boolean visible, String text, Box box) {
+
+        public String snippet(int maxChars) {
+            return text.substring(0, Math.min(text.length(), maxChars));
+        }
+    }
+
+    // Text of the section around an anchor plus its visible div/section siblings
+    public record NearText(int anchors, String text) {}
+
+    // Same visibility rule as Playwright: a non-empty box and not visibility:hidden
+    private static final String VISIBLE_FN = """
+            const visible = el => {
+              const r = el.getBoundingClientRect();
+              return r.width > 0 && r.height > 0 && getComputedStyle(el).visibility !== 'hidden';
+            };""";
+
+    private static final String SNAPSHOT_FN = "els => {" + VISIBLE_FN + """
+              return els.map(el => {
+                const r = el.getBoundingClientRect();
+                return { tag: el.tagName.toLowerCase(), visible: visible(el), text: el.innerText ?? el.textContent ?? '',
+                         x: r.x, y: r.y, width: r.width, height: r.height };
+              });
+            }""";
+
+    // Mirrors the old loop: first visible anchor (else the first), its nearest div/section,
+    // then every visible div/section sibling after it
+    private static final String NEAR_TEXT_FN = "els => {" + VISIBLE_FN + """
+              if (els.length === 0) return { anchors: 0, text: '' };
+              const anchor = els.find(visible) || els[0];
+              const section = anchor.closest('div, section') || anchor;
+              let text = section.innerText;
+              for (let sib = section.nextElementSibling; sib; sib = sib.nextElementSibling) {
+                if (sib.matches('div, section') && visible(sib)) text += '\\n' + sib.innerText;
+              }
+              return { anchors: els.length, text };
+            }""";
+
+    private static final String TEXTS_FN = "els => els.map(el => el.innerText ?? el.textContent ?? '')";
+
+    private BatchQuery() {
+    }
+
+    public static List<ElementInfo> snapshot(Locator locator) {
+        List<?> raw = (List<?>) locator.evaluateAll(SNAPSHOT_FN);
+        List<ElementInfo> out = new ArrayList<>(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            Map<?, ?> m = (Map<?, ?>) raw.get(i);
+            out.add(new ElementInfo(i, (String) m.get("tag"), Boolean.TRUE.equals(m.get("visible")), (String) m.get("text"),
+                    new Box(number(m.get("x")), number(m.get("y")), number(m.get("width")), number(m.get("height")))));
+        }
+        return out;
+    }
+
+    public static List<String> texts(Locator locator) {
+        List<?> raw = (List<?>) locator.evaluateAll(TEXTS_FN);
+        List<String> out = new ArrayList<>(raw.size());
+        for (Object text : raw) out.add((String) text);
+        return out;
+    }
+
+    public static NearText textNear(Locator anchors) {
+        Map<?, ?> m = (Map<?, ?>) anchors.evaluateAll(NEAR_TEXT_FN);
+        return new NearText((int) number(m.get("anchors")), (String) m.get("text"));
+    }
+
+    // The driver hands back Integer or Double depending on the value
+    private static double number(Object value) {
+        return value == null ? 0 : ((Number) value).doubleValue();
+    }
+}
@@ -0,0 +1,58 @@
+package playwrightTraditional;
+
+import com.google.gson.JsonObject;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The non-visual checks of the purchase pathway, over HTTP; BookstoreE2ETest keeps the ones that need a page
+public class BookstoreApiTest extends BaseApiTest {
+
+    private static final String PRODUCT = "JBL Quantum True Wireless Noise Cancelling Gaming";
+
+    @Test
+    void search_results_mention_earbuds() {
+        Document results = api.get("/search?text=earbuds");
+        assertTrue(results.text().toLowerCase().contains("earbuds"), "Search results should mention 'earbuds'");
+        assertFalse(results.select(".product-list a").isEmpty(), "Expected product links in the results");
+    }
+
+    @Test
+    void product_page_shows_price_and_sku() {
+        Document product = api.get(productLink().absUrl("href"));
+        assertTrue(product.select("h1").text().contains(PRODUCT), "Expected product title on detail page");
+        assertTrue(product.text().contains("SKU"), "SKU label not found");
+        assertTrue(product.text().contains("$164.98"), "Price not found on product page");
+        assertTrue(product.text().contains("Adaptive noise cancelling"), "Product description not found");
+    }
+
+    @Test
+    void promo_code_TEST_is_rejected() {
+        JsonObject result = api.postForm("/cart/promo", Map.of("code", "TEST"));
+        assertFalse(result.get("valid").getAsBoolean(), "TEST should not be accepted as a promo code");
+        assertTrue(result.get("message").getAsString().matches("(?i).*(not valid|invalid|cannot be applied).*"),
+                "Expected a rejection message but saw: " + result.get("message"));
+    }
+
+    @Test
+    void cart_keeps_item_added_over_http() {
+        String sku = api.get(productLink().absUrl("href")).select("[data-add-to-cart]").attr("data-add-to-cart");
+        JsonObject cart = api.postForm("/cart/add", Map.of("sku", sku));
+        assertEquals(1, cart.get("count").getAsInt(), "Cart should hold one item");
+
+        // Same cookie jar: the cart page renders what the POST stored
+        Document page = api.get("/cart");
+        assertTrue(page.text().contains("JBL Quantum True Wireless"), "Line item name should be in the cart");
+        assertTrue(page.text().contains("$164.98"), "Expected the item price in the cart");
+    }
+
+    private Element productLink() {
+        Element link = api.get("/search?text=earbuds").selectFirst("a:contains(" + PRODUCT + ")");
+        assertNotNull(link, "Could not find JBL Quantum product link");
+        return link;
+    }
+}
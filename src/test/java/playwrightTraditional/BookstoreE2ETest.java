@@ -1,522 +1,317 @@
 package playwrightTraditional;
 
-import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.options.AriaRole;
-import com.microsoft.playwright.options.LoadState;
-import com.microsoft.playwright.options.WaitForSelectorState;
+import org.jsoup.nodes.Element;
 import org.junit.jupiter.api.Test;
-import com.microsoft.playwright.JSHandle;
-import com.microsoft.playwright.*;
-import com.microsoft.playwright.options.*;
 
-import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static playwrightTraditional.BookstoreHelpers.*;
 
 public class BookstoreE2ETest extends BaseTest {
 
-    // helpers
-    private void expandFilter(String name) {
-        page.waitForSelector("body");
-
-        Locator header = page.locator("text=" + name);
-        if (header.count() == 0) header = page.getByText(name, new Page.GetByTextOptions().setExact(false));
-        if (header.count() == 0) header = page.locator("button:has-text('" + name + "')");
-        if (header.count() == 0) header = page.locator("summary:has-text('" + name + "')"); // for <details> elements
-        if (header.count() == 0) header = page.locator("div:has-text('" + name + "')");
-
-        assertTrue(header.count() > 0, "Could not find filter section for: " + name);
-        header.first().click();
-        page.waitForTimeout(5000); // wait after expanding
+    // The purchase pathway as a step graph. Checks that only read a page (product details, cart
+    // line item, sidebar totals, promo) fork into their own contexts while checkout carries on. On the live
+    // site the forks share one server-side cart; the promo check only posts a code the storefront rejects.
+    // Runs on chromium, firefox and webkit at once (-Dbrowsers to narrow).
+    @BrowserMatrix
+    void bookstore_purchase_pathway() {
+        Scenario.Report report = scenario()
+                .step("search", this::search)
+                .step("filter-brand-color-price", "search", this::filterBrandColorPrice)
+                .step("open-product", "filter-brand-color-price", this::openProduct)
+                .step("product-details", "open-product", this::productDetails)
+                .step("add-to-cart", "open-product", this::addToCart)
+                .step("cart-line-item", "add-to-cart", this::cartLineItem)
+                .step("cart-sidebar-totals", "add-to-cart", this::cartSidebarTotals)
+                .step("promo-rejected", "add-to-cart", this::promoRejected)
+                .step("guest-checkout", "add-to-cart", this::guestCheckout)
+                .step("contact-information", "guest-checkout", this::contactInformation)
+                .step("pickup-information", "contact-information", this::pickupInformation)
+                .step("payment-information", "pickup-information", this::paymentInformation)
+                .step("remove-from-cart", "payment-information", this::removeFromCart)
+                .run();
+
+        System.out.print(report.table());
+        report.assertAllPassed();
     }
 
-    private void assertMoneyInSidebar(String labelText, String expectedAmount) {
-        // Find the parent container that holds Order Summary and amounts
-        Locator sidebar = page.locator("div, section, aside")
-                .filter(new Locator.FilterOptions().setHasText("Order Summary"))
-                .last();
-
-        assertTrue(sidebar.count() > 0, "Sidebar not found.");
-
-        // Find a row inside with the label
-        Locator row = sidebar.locator("p, div, span").filter(new Locator.FilterOptions().setHasText(labelText));
-        int rowCount = row.count();
-
-        assertTrue(rowCount > 0, "Expected to find row for label: " + labelText);
-
-        // Check the row text for the expected amount
-        String rowText = row.first().innerText().trim();
-
-        // Handle "Tax" being TBD gracefully
-        if (labelText.equalsIgnoreCase("Tax") && rowText.contains("TBD")) {
-            return;
-        }
-
-        assertTrue(rowText.contains(expectedAmount),
-                "Expected '" + labelText + "' to contain amount '" + expectedAmount + "' but saw: " + rowText);
+    // The same pathway as sentences in scenarios/earbuds-to-guest-checkout.scenario; selectors were
+    // resolved against the stand-in's pages, so it only runs there
+    @Test
+    void purchase_pathway_from_scenario_file() {
+        assumeTrue(baseUrl.equals(BookstoreStub.shared().url()), "Scenario files are compiled against the local stand-in");
+        ScenarioCompiler.Compiled compiled = ScenarioCompiler.shared().compileResource("earbuds-to-guest-checkout.scenario");
+        System.out.print(compiled.table());
+        assertEquals(List.of(), compiled.findings(), "Scenario has fixed sleeps or page-content scans");
+
+        Scenario.Report report = compiled.addTo(scenario()).run();
+        System.out.print(report.table());
+        report.assertAllPassed();
     }
 
-    private void assertTextContainsNear(String anchorText, String mustContain) {
-        Locator anchors = page.getByText(anchorText, new Page.GetByTextOptions().setExact(false));
-        int count = anchors.count();
-        assertTrue(count > 0, "No elements found with text: " + anchorText);
-
-        Locator anchor = null;
-        for (int i = 0; i < count; i++) {
-            if (anchors.nth(i).isVisible()) {
-                anchor = anchors.nth(i);
-                break;
-            }
-        }
-        if (anchor == null) anchor = anchors.first();
-
-        // Get the section containing the heading
-        Locator section = anchor.locator("xpath=ancestor-or-self::*[self::div or self::section][1]");
-        String sectionText = section.innerText();
-
-        // Look for *any* visible sibling divs that might hold details (skip edit link blocks)
-        Locator siblings = section.locator("xpath=following-sibling::*[self::div or self::section]");
-        for (int i = 0; i < siblings.count(); i++) {
-            if (siblings.nth(i).isVisible()) {
-                sectionText += "\n" + siblings.nth(i).innerText();
-            }
+    @Test
+    void pickup_to_payment_from_guest_checkpoint() {
+        // Starts on Pick Up Information with the JBL item in the cart and guest contact details filled,
+        // restored from the checkpoint bookstore_purchase_pathway saves. The stand-in keeps cart and contact
+        // details in cookies, so when no fresh checkpoint exists this test builds that state over HTTP,
+        // saves the checkpoint itself and resumes from it in a cleared context.
+        if (!resumeFrom("guest-contact-filled")) {
+            assumeTrue(baseUrl.equals(BookstoreStub.shared().url()),
+                    "No fresh 'guest-contact-filled' checkpoint yet; bookstore_purchase_pathway saves it");
+            startAtPickupOverHttp();
+            saveCheckpoint("guest-contact-filled");
+            context.clearCookies();
+            assertTrue(resumeFrom("guest-contact-filled"), "Checkpoint 'guest-contact-filled' was not saved");
         }
 
-        System.out.println("DEBUG: Combined text near '" + anchorText + "': " +
-                sectionText.substring(0, Math.min(300, sectionText.length())));
+        CheckoutPickup pickup = new CheckoutPickup(page, waits).waitUntilLoaded(30000);
+        assertTextContainsNear(page, "Contact Information", "Taylor");
+        assertTextContainsNear(page, "Pick Up Information", "DePaul University Loop Campus");
 
-        assertTrue(sectionText.toLowerCase().contains(mustContain.toLowerCase()),
-                "Expected near '" + anchorText + "' to contain '" + mustContain + "' but saw: " + sectionText);
+        OrderSummary summary = pickup.continueToPayment().waitUntilLoaded().summary();
+        summary.assertAmount("Order Subtotal", "164.98");
+        summary.assertAmount("Handling", "3.00");
+        summary.assertAmount("Total", "$");
     }
 
-    private void fillLabeled(String label, String value) {
-        Locator input = page.getByLabel(label, new Page.GetByLabelOptions().setExact(false));
-        if (input.count() == 0) input = page.getByPlaceholder(label);
-        if (input.count() == 0) fail("Could not find input for label or placeholder: " + label);
-        input.first().fill(value);
+    private void startAtPickupOverHttp() {
+        try (ApiSession api = ApiSession.of(context, baseUrl)) {
+            Element link = api.get("/search?text=earbuds").selectFirst("a:contains(" + PRODUCT + ")");
+            assertNotNull(link, "Could not find JBL Quantum product link");
+            String sku = api.get(link.absUrl("href")).select("[data-add-to-cart]").attr("data-add-to-cart");
+            api.postForm("/cart/add", Map.of("sku", sku));
+            api.submitForm("/checkout/contact", Map.of("firstName", "Taylor", "lastName", "Jordan",
+                    "email", "taylor.jordan+test@depaul.edu", "phone", "312-555-1212"));
+        }
+        page.navigate(baseUrl + "checkout/pickup");
     }
 
-    @Test
-    void bookstore_purchase_pathway() {
-        // --- Setup browser and video recording ---
-        // Ensure cache is cleared between runs
-        browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+    // steps
 
-        BrowserContext context = browser.newContext(new Browser.NewContextOptions()
-                .setRecordVideoDir(Paths.get("videos/"))
-                .setRecordVideoSize(1280, 720));
+    private static final String PRODUCT = "JBL Quantum True Wireless Noise Cancelling Gaming";
 
-        page = context.newPage();
+    private void search(Scenario.StepContext step) {
+        Page page = step.page();
 
         //  Startup
-        page.navigate("https://depaul.bncollege.com/");
+        page.navigate(step.baseUrl());
         page.setDefaultTimeout(60000); // 60 seconds for any selector
         page.setDefaultNavigationTimeout(60000);
 
         // TestCase Bookstore
         // Search “earbuds”
-        page.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Search")).click();
-        page.keyboard().type("earbuds");
-        page.keyboard().press("Enter");
-
-        // Wait for the page and network to finish loading
-        page.waitForLoadState(LoadState.NETWORKIDLE);
-
-        // Wait for the Brand filter section
-        expandFilter("Brand");
-        page.waitForTimeout(1500);
-
-        Locator jblLabel = page.locator("label:has-text('JBL')").first();
-        assertTrue(jblLabel.count() > 0, "Could not find JBL brand checkbox");
-
-        jblLabel.scrollIntoViewIfNeeded();
-        jblLabel.click();
-        page.waitForLoadState(LoadState.NETWORKIDLE);
-        page.waitForTimeout(3000);
-
-
-        //  COLOR filter
-        expandFilter("Color");
-        page.waitForTimeout(1500);
-        Locator colorOption = page.locator("span.facet__list__label:has-text('Black')").first();
-        assertTrue(colorOption.count() > 0, "Could not find Black color filter label");
-        colorOption.click();
-
-        //  PRICE filter
-        expandFilter("Price");
-        page.waitForTimeout(1500);
-        Locator priceOption = page.locator("span.facet__list__label:has-text('Over $50')").first();
-        if (priceOption.count() == 0) {
-            priceOption = page.getByText("Over $50", new Page.GetByTextOptions().setExact(false)).first();
-        }
-        assertTrue(priceOption.count() > 0, "Could not find Over $50 price filter label");
-        priceOption.click();
+        new SearchResults(page, step.waits()).search("earbuds");
+        step.measure("search-results");
+    }
 
-        //  Click JBL Quantum True Wireless product
-        page.waitForSelector("a:has-text('JBL Quantum True Wireless Noise Cancelling Gaming')",
-                new Page.WaitForSelectorOptions().setTimeout(60000));
+    private void filterBrandColorPrice(Scenario.StepContext step) {
+        new SearchResults(step.page(), step.waits())
+                .filterBrand("JBL")
+                .filter("Color", "Black")
+                .filter("Price", "Over $50");
+    }
 
-        Locator productLink = page.locator("a:has-text('JBL Quantum True Wireless Noise Cancelling Gaming')").first();
-        assertTrue(productLink.count() > 0, "Could not find JBL Quantum product link");
-        productLink.scrollIntoViewIfNeeded();
-        productLink.click();
-        page.waitForLoadState(LoadState.DOMCONTENTLOADED);
-        page.waitForTimeout(4000); // allow product detail page to fully load
+    private void openProduct(Scenario.StepContext step) {
+        //  Click JBL Quantum True Wireless product
+        new SearchResults(step.page(), step.waits()).openProduct(PRODUCT).waitForTitle(PRODUCT);
+        step.measure("product");
+    }
 
+    private void productDetails(Scenario.StepContext step) {
         //  Verify product detail page content
-        Locator productTitle = page.locator("h1:has-text('JBL Quantum True Wireless Noise Cancelling Gaming')").first();
-        assertTrue(productTitle.count() > 0, "Expected product title on detail page");
-
-        Locator sku = page.locator("text=SKU");
-        assertTrue(sku.count() > 0, "SKU label not found");
-
-        Locator price = page.locator("text=$164.98").first();
-        assertTrue(price.count() > 0, "Price not visible on product page");
-
-        Locator desc = page.locator(":text('Adaptive noise cancelling')").first();
-        assertTrue(desc.count() > 0, "Product description not visible");
-
-        //  Add item to cart
-        Locator addToCart = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add to Cart").setExact(false)).first();
-        assertTrue(addToCart.count() > 0, "Add to Cart button not found");
-        addToCart.click();
-        page.waitForTimeout(3000);
-
-        // Scroll to top to ensure the Cart icon is visible
-        page.evaluate("window.scrollTo(0, 0)");
-        page.waitForTimeout(1500);
-
-        // Wait until the cart text updates to "Cart | 1 items" (case-insensitive)
-        Locator cartLink = page.locator("a:has-text('Cart')").first();
-        JSHandle handle = cartLink.elementHandle();
-
-        page.waitForFunction(
-                "el => el && /Cart\\s*(\\|\\s*)?1\\s*items?/i.test(el.innerText)",
-                handle,
-                new Page.WaitForFunctionOptions().setTimeout(90000)
-        );
-
-        // Assert cart link is visible and click
-        assertTrue(cartLink.isVisible(), "Cart link is not visible after adding item.");
-        cartLink.scrollIntoViewIfNeeded();
-        cartLink.click();
-
-        page.waitForLoadState(LoadState.DOMCONTENTLOADED);
-        page.waitForLoadState(LoadState.NETWORKIDLE);
-        page.waitForTimeout(3000);
-
-        //  Wait until the cart header element exists in the DOM
-        Locator cartHeader = page.locator("h2.bned-cart-main-title, h1:has-text('Shopping Cart')");
-
-        page.waitForSelector(
-                "h2.bned-cart-main-title, h1:has-text('Shopping Cart')",
-                new Page.WaitForSelectorOptions()
-                        .setState(WaitForSelectorState.ATTACHED)
-                        .setTimeout(60000)
-        );
-
-        //  Wait until it becomes visible
-        JSHandle headerHandle = cartHeader.first().elementHandle();
+        ProductDetail.State pdp = new ProductDetail(step.page(), step.waits()).waitForTitle(PRODUCT).state();
+        assertTrue(pdp.title().contains(PRODUCT), "Expected product title on detail page");
+        assertNotNull(pdp.sku(), "SKU label not found");
+        assertTrue(pdp.text().contains("$164.98"), "Price not visible on product page");
+        assertTrue(pdp.text().contains("Adaptive noise cancelling"), "Product description not visible");
+    }
 
-        page.waitForFunction(
-                "el => el && window.getComputedStyle(el).visibility !== 'hidden' && window.getComputedStyle(el).display !== 'none'",
-                headerHandle,
-                new Page.WaitForFunctionOptions().setTimeout(30000)
-        );
+    private void addToCart(Scenario.StepContext step) {
+        StepLog log = step.log();
 
-        //  Verify text content
-        String cartText = cartHeader.first().innerText().trim();
+        //  Add item to cart, then wait for the cart page header
+        Cart cart = new ProductDetail(step.page(), step.waits()).addToCart(1).openCart();
+        String cartText = cart.waitUntilLoaded();
+        step.measure("cart");
 
         assertTrue(cartText.toLowerCase().contains("shopping cart"),
                 "Expected Shopping Cart page, but saw: " + cartText);
 
-        System.out.println("Cart page loaded successfully: " + cartText);
-
-        // Assert item name / qty / price
-        assertTrue(page.getByText("JBL Quantum True Wireless", new Page.GetByTextOptions().setExact(false)).first().isVisible(),
-                "Line item name should be visible");
-
-        // qty: either spinbutton, select, or static text
-        Locator qty = page.getByRole(AriaRole.SPINBUTTON).or(page.getByLabel("Qty")).first();
-        String qtyText = qty.count() > 0 ? (qty.inputValue() != null ? qty.inputValue() : qty.innerText()) : "1";
-        assertEquals("1", qtyText.trim(), "Quantity should be 1");
-
-        //  Verify item price format
-        Locator priceLine = page.locator("text=/\\$\\d+\\.\\d{2}/").first();
-        assertTrue(priceLine.isVisible(), "Expected a visible currency value on line item");
-
-        //  Select “FAST In-Store Pickup”
-        Locator pickup = page.getByText("FAST In-Store Pickup", new Page.GetByTextOptions().setExact(false));
-        if (pickup.count() > 0) {
-            pickup.first().click();
-        } else {
-            System.out.println("DEBUG: Pickup option not found (may already be selected)");
-        }
+        log.note("Cart page loaded successfully: " + cartText);
 
-        //  Verify sidebar totals appear, regardless of exact values
-        assertTrue(page.getByText("Subtotal", new Page.GetByTextOptions().setExact(false)).first().isVisible(),
-                "Subtotal section missing");
-
-        //  Verify Handling row with icon-tolerant selector
-        Locator handlingLine = page.locator("div:has-text('Handling'), span:has-text('Handling')");
-        if (handlingLine.count() == 0) {
-            System.out.println("DEBUG: Could not find Handling with standard match — trying flexible regex match.");
-            handlingLine = page.locator("text=/Handling/i");
+        //  Select “FAST In-Store Pickup” before the cart checks fork off
+        if (!cart.choosePickup()) {
+            log.note("Pickup option not found (may already be selected)");
         }
-        assertTrue(handlingLine.count() > 0 && handlingLine.first().isVisible(),
-                "Handling section missing or not visible");
-
-        assertTrue(page.getByText("Estimated Total", new Page.GetByTextOptions().setExact(false)).first().isVisible(),
-                "Estimated Total section missing");
-
-        String subtotalText = page.getByText("Subtotal", new Page.GetByTextOptions().setExact(false))
-                .first().locator("xpath=following-sibling::*").textContent();
+        step.visualCheckpoint("cart");
+        step.checkpoint("cart-with-JBL");
+    }
 
+    private void cartLineItem(Scenario.StepContext step) {
+        Cart cart = new Cart(step.page(), step.waits());
 
-        // Promo code TEST
-        Locator promo = page.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Promo"));
-        if (promo.count() == 0) promo = page.getByPlaceholder("Promo code");
+        // Assert item name / qty / price
+        assertTrue(cart.lineItemVisible("JBL Quantum True Wireless"), "Line item name should be visible");
+        assertEquals("1", cart.quantity(), "Quantity should be 1");
+        assertTrue(cart.priceVisible(), "Expected a visible currency value on line item");
+    }
 
-        if (promo.count() > 0) {
-            promo.first().fill("TEST");
-            page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Apply").setExact(false)).first().click();
+    private void cartSidebarTotals(Scenario.StepContext step) {
+        Cart cart = new Cart(step.page(), step.waits());
 
-            // Wait up to 5 seconds for any rejection message to appear
-            page.waitForTimeout(2000);
+        //  Verify sidebar totals appear, regardless of exact values
+        assertTrue(cart.rowVisible("Subtotal"), "Subtotal section missing");
+        assertTrue(cart.handlingVisible(), "Handling section missing or not visible");
+        assertTrue(cart.rowVisible("Estimated Total"), "Estimated Total section missing");
+        step.log().note("Cart summary: " + cart.state().summary());
+    }
 
-            Locator rejection = page.locator("text=/The coupon code entered is not valid/i");
-            if (rejection.count() == 0) {
-                rejection = page.locator("text=/invalid|not valid|cannot be applied/i");
-            }
+    private void promoRejected(Scenario.StepContext step) {
+        Cart cart = new Cart(step.page(), step.waits());
 
-            assertTrue(rejection.count() > 0 && rejection.first().isVisible(),
+        // Promo code TEST
+        if (cart.applyPromo("TEST")) {
+            assertTrue(cart.promoRejected(),
                     "Expected promo code rejection message to appear after applying TEST code");
-            System.out.println("Promo code rejection detected successfully.");
-        }
-
-        //  Proceed to Checkout
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Proceed to Checkout")).first().click();
-
-        // Wait for the Sign In / Create Account page to fully load
-        page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(60000));
-
-        // Wait until "Create Account" heading is visible (right side)
-        Locator createAccountHeader = page.getByRole(AriaRole.HEADING, new Page.GetByRoleOptions().setName("Create Account"));
-        createAccountHeader.first().waitFor(new Locator.WaitForOptions().setTimeout(15000).setState(WaitForSelectorState.VISIBLE));
-
-        assertTrue(createAccountHeader.first().isVisible(), "Create Account label should be present");
-        System.out.println("Checkout page loaded: Create Account visible");
-
-        Locator proceedAsGuest = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Proceed as Guest").setExact(false));
-
-        // If not found, try by visible text
-        if (proceedAsGuest.count() == 0) {
-            proceedAsGuest = page.locator("text=/Proceed as Guest/i");
+            step.log().note("Promo code rejection detected successfully.");
         }
+    }
 
-        // Wait briefly for animations or lazy render
-        page.waitForTimeout(1500);
+    private void guestCheckout(Scenario.StepContext step) {
+        //  Proceed to Checkout as a guest
+        new Cart(step.page(), step.waits()).checkoutAsGuest();
+    }
 
-        // Assert and click
-        assertTrue(proceedAsGuest.count() > 0, "'Proceed as Guest' should be present and visible on Create Account page");
-        assertTrue(proceedAsGuest.first().isVisible(), "'Proceed as Guest' is present but not visible yet");
-        proceedAsGuest.first().scrollIntoViewIfNeeded();
-        proceedAsGuest.first().click();
+    private void contactInformation(Scenario.StepContext step) {
+        StepLog log = step.log();
 
         // Contact Information Page
-        Locator visibleContactHeading = page.locator("h2.bned-checkout-section-headline",
-                new Page.LocatorOptions().setHasText("Contact Information"));
-
-        // Wait until it's visible
-        page.waitForCondition(() -> visibleContactHeading.isVisible(),
-                new Page.WaitForConditionOptions().setTimeout(20000));
+        CheckoutContact contact = new CheckoutContact(step.page(), step.waits()).waitUntilLoaded();
+        step.measure("checkout");
+        log.note("Contact Information heading is visible on the page.");
 
-        System.out.println("DEBUG: Contact Information heading is visible on the page.");
-
-        fillLabeled("First Name", "Taylor");
-        fillLabeled("Last Name", "Jordan");
-        fillLabeled("Email", "taylor.jordan+test@depaul.edu");
-        fillLabeled("Phone", "312-555-1212");
+        contact.fill("Taylor", "Jordan", "taylor.jordan+test@depaul.edu", "312-555-1212");
 
         // Sidebar values persist
-        assertMoneyInSidebar("Order Subtotal", "164.98");
-        assertMoneyInSidebar("Handling", "3.00");
-        assertMoneyInSidebar("Tax", "0.31");
-        assertMoneyInSidebar("Total", "$");
+        OrderSummary summary = contact.summary();
+        summary.assertAmount("Order Subtotal", "164.98");
+        summary.assertAmount("Handling", "3.00");
+        summary.assertAmount("Tax", "0.31");
+        summary.assertAmount("Total", "$");
+        step.visualCheckpoint("contact", "input"); // typed values are checked above
+
+        contact.continueToPickup();
+    }
 
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Continue").setExact(false)).first().click();
+    private void pickupInformation(Scenario.StepContext step) {
+        Page page = step.page();
+        StepLog log = step.log();
+        CheckoutPickup pickup = new CheckoutPickup(page, step.waits());
 
         // Pickup Information
-        Locator contactCandidates = page.locator("text=Contact Information");
-        int totalCandidates = contactCandidates.count();
-        System.out.println("DEBUG: Found " + totalCandidates + " elements with text 'Contact Information'.");
-
-        for (int i = 0; i < totalCandidates; i++) {
-            String snippet = contactCandidates.nth(i).innerText();
-            boolean visible = contactCandidates.nth(i).isVisible();
-            System.out.println("DEBUG: Element #" + i + " visible=" + visible + " | snippet='" +
-                    snippet.substring(0, Math.min(snippet.length(), 120)) + "'");
-        }
+        List<BatchQuery.ElementInfo> contactCandidates = BatchQuery.snapshot(page.locator("text=Contact Information"));
+        log.note("Found " + contactCandidates.size() + " elements with text 'Contact Information'.");
 
-        Locator errorBanner = page.locator("text=Errors were found with the contact information");
-        if (errorBanner.count() > 0 && errorBanner.first().isVisible()) {
-            System.out.println("DEBUG: Contact Information validation error detected — likely invalid inputs or missing field!");
+        for (BatchQuery.ElementInfo candidate : contactCandidates) {
+            log.note("Element #" + candidate.index() + " visible=" + candidate.visible() + " | snippet='" +
+                    candidate.snippet(120) + "'");
         }
 
         try {
-            page.waitForSelector("h2:has-text('Contact Information'), h3:has-text('Contact Information')",
-                    new Page.WaitForSelectorOptions().setTimeout(10000));
+            pickup.waitUntilLoaded(10000);
         } catch (Exception e) {
-            System.out.println("DEBUG: Timeout waiting for 'Contact Information'. Printing visible page text...");
-            System.out.println(page.content().substring(0, Math.min(page.content().length(), 1500)));
+            log.note("Timeout waiting for 'Contact Information'; keeping the page HTML");
+            log.payload("contact-timeout.html", page::content);
             throw e;
         }
 
-        assertTextContainsNear("Contact Information", "Taylor");
-        assertTextContainsNear("Contact Information", "Jordan");
-        assertTextContainsNear("Contact Information", "taylor.jordan+test@depaul.edu\n");
-        assertTextContainsNear("Contact Information", "312-555-1212");
-
-        //  Pickup Information Debug & Assertions
-        System.out.println("DEBUG: Checking Pickup Information section...");
-
-        Locator pickupSection = page.locator("text=Pick Up Information").locator("xpath=..");
-        if (pickupSection.count() > 0) {
-            String sectionText = pickupSection.first().innerText();
-            System.out.println("DEBUG: Pickup Section Text:\n" + sectionText);
-        } else {
-            System.out.println("DEBUG: Could not find 'Pick Up Information' heading!");
-        }
-        page.waitForTimeout(1500);
-
-        Locator pickupContainer = page.locator(
-                "div:has-text('DePaul University Loop Campus & SAIC'), " +
-                        "p:has-text('DePaul University Loop Campus & SAIC'), " +
-                        "section:has-text('DePaul University Loop Campus & SAIC')"
-        ).first();
-
-        boolean pickupVisible = false;
-
-        if (pickupContainer.count() > 0) {
-            try {
-                pickupVisible = pickupContainer.isVisible();
-                System.out.println("DEBUG: Pickup container found; visible? " + pickupVisible);
-            } catch (Exception e) {
-                System.out.println("DEBUG: Pickup container visibility check threw exception: " + e.getMessage());
-            }
-        } else {
-            System.out.println("DEBUG: Pickup container not found by :has-text selector!");
-        }
-
-        if (!pickupVisible && pickupSection.count() > 0) {
-            String sectionText = pickupSection.first().innerText().toLowerCase();
-            pickupVisible = sectionText.contains("depaul university loop campus");
-            System.out.println("DEBUG: Fallback visibility check via section text: " + pickupVisible);
+        CheckoutPickup.State state = pickup.state();
+        if (state.contactErrors()) {
+            log.note("Contact Information validation error detected — likely invalid inputs or missing field!");
         }
 
-        System.out.println("DEBUG: Final pickup location visible? " + pickupVisible);
-        assertTrue(pickupVisible, "Pickup location should be visible");
+        assertTextContainsNear(page, "Contact Information", "Taylor");
+        assertTextContainsNear(page, "Contact Information", "Jordan");
+        assertTextContainsNear(page, "Contact Information", "taylor.jordan+test@depaul.edu\n");
+        assertTextContainsNear(page, "Contact Information", "312-555-1212");
+        step.checkpoint("guest-contact-filled");
 
-        Locator pickupPerson = page.locator("text=/I'll pick them up/i");
-        boolean personVisible = pickupPerson.count() > 0 && pickupPerson.first().isVisible();
+        //  Pickup Information Debug & Assertions
+        log.note(state.pickupText().isEmpty() ? "Could not find 'Pick Up Information' heading!"
+                : "Pickup Section Text:\n" + state.pickupText());
 
-        if (!personVisible && pickupSection.count() > 0) {
-            String sectionText = pickupSection.first().innerText().toLowerCase();
-            personVisible = sectionText.contains("i'll pick them up");
-            System.out.println("DEBUG: Fallback visibility check via section text: " + personVisible);
-        }
+        boolean pickupVisible = pickup.showsInPickupSection("DePaul University Loop Campus");
+        log.note("Final pickup location visible? " + pickupVisible);
+        assertTrue(pickupVisible, "Pickup location should be visible");
 
-        System.out.println("DEBUG: 'I'll pick them up' visible? " + personVisible);
+        boolean personVisible = pickup.showsInPickupSection("I'll pick them up");
+        log.note("'I'll pick them up' visible? " + personVisible);
         assertTrue(personVisible, "Pickup person text should be visible");
 
-
         // Sidebar values persist
-        assertMoneyInSidebar("Order Subtotal", "164.98");
-        assertMoneyInSidebar("Handling", "3.00");
-
-        Locator taxRow = page.locator("text=Tax").first();
-        page.waitForTimeout(2000);
-        boolean taxLoaded = false;
-
-        for (int i = 0; i < 10; i++) {
-            String taxText = taxRow.innerText().trim();
-            if (!taxText.contains("TBD") && taxText.matches(".*\\$?\\d+\\.\\d{2}.*")) {
-                System.out.println("DEBUG: Tax value loaded successfully: " + taxText);
-                taxLoaded = true;
-                break;
-            }
-            page.waitForTimeout(1500);
-            if (i == 9)
-                System.out.println("DEBUG: Tax still TBD after retries — skipping exact total validation.");
-        }
-
-        if (taxLoaded) {
-            assertMoneyInSidebar("Tax", "0.31");
-            assertMoneyInSidebar("Total", "168.29");
+        OrderSummary summary = pickup.summary();
+        summary.assertAmount("Order Subtotal", "164.98");
+        summary.assertAmount("Handling", "3.00");
+
+        // Resolves as soon as the tax request has been answered and the sidebar re-rendered
+        SidebarWatch.Totals totals = summary.awaitTax(step.waits(), 15000);
+        if (totals.taxLoaded()) {
+            log.note("Tax value loaded successfully: " + totals.row("Tax"));
+            summary.assertAmount("Tax", "0.31");
+            summary.assertAmount("Total", "168.29");
         } else {
-            assertMoneyInSidebar("Total", "167.98"); // fallback when tax never updates
+            log.note("Tax still TBD (" + totals.reason() + ") — skipping exact total validation.");
+            summary.assertAmount("Total", "167.98"); // fallback when tax never updates
         }
 
+        step.visualCheckpoint("pickup");
+
         // Click Continue to go to Payment
-        Locator continueBtn = page.getByRole(AriaRole.BUTTON,
-                new Page.GetByRoleOptions().setName("Continue").setExact(false)).first();
-        continueBtn.scrollIntoViewIfNeeded();
-        continueBtn.click();
-        System.out.println("DEBUG: Clicked Continue on Pickup Information page");
-        page.waitForTimeout(2000);
+        pickup.continueToPayment();
+        log.note("Clicked Continue on Pickup Information page");
+    }
 
-        page.waitForSelector("text=/Payment( Information| Method| Options)?/i",
-                new Page.WaitForSelectorOptions().setTimeout(20000));
+    private void paymentInformation(Scenario.StepContext step) {
+        StepLog log = step.log();
 
-        System.out.println("DEBUG: Payment section detected!");
+        CheckoutPayment payment = new CheckoutPayment(step.page(), step.waits()).waitUntilLoaded();
+        log.note("Payment section detected!");
 
         //  Payment Information
-        assertMoneyInSidebar("Order Subtotal", "164.98");
-        assertMoneyInSidebar("Handling", "3.00");
-        // Wait until tax updates on the Payment Information page
-        Locator paymentTaxRow = page.locator("text=Tax").first();
-        boolean paymentTaxLoaded = false;
-
-        for (int i = 0; i < 12; i++) {
-            String taxText = paymentTaxRow.innerText().trim();
-            if (!taxText.contains("TBD") && taxText.matches(".*\\$?\\d+\\.\\d{2}.*")) {
-                System.out.println("DEBUG: Payment page tax loaded: " + taxText);
-                paymentTaxLoaded = true;
-                break;
-            }
-            page.waitForTimeout(1500); // wait up to ~18s total
-        }
+        OrderSummary summary = payment.summary();
+        summary.assertAmount("Order Subtotal", "164.98");
+        summary.assertAmount("Handling", "3.00");
 
-        if (paymentTaxLoaded) {
-            assertMoneyInSidebar("Tax", "17.22");
-            assertMoneyInSidebar("Total", "185.20");
+        // Wait until tax updates on the Payment Information page
+        SidebarWatch.Totals totals = summary.awaitTax(step.waits(), 18000);
+        if (totals.taxLoaded()) {
+            log.note("Payment page tax loaded: " + totals.row("Tax"));
+            summary.assertAmount("Tax", "17.22");
+            summary.assertAmount("Total", "185.20");
         } else {
-            System.out.println("DEBUG: Payment tax never updated — skipping exact total validation.");
-            assertMoneyInSidebar("Total", "$"); // loose fallback check
+            log.note("Payment tax never updated — skipping exact total validation.");
+            summary.assertAmount("Total", "$"); // loose fallback check
         }
 
-        String pageText = page.content();
-        boolean itemPresent = pageText.toLowerCase().contains("jbl quantum true wireless");
+        String pageHtml = payment.state().html();
+        boolean itemPresent = pageHtml.toLowerCase().contains("jbl quantum true wireless");
 
-        System.out.println("DEBUG: JBL item present in Payment page HTML? " + itemPresent);
+        log.note("JBL item present in Payment page HTML? " + itemPresent);
         assertTrue(itemPresent, "Expected JBL Quantum item text to appear in Payment page content");
 
-        String pageHtml = page.content();
         boolean pricePresent = pageHtml.contains("$164.98");
-        System.out.println("DEBUG: Price '$164.98' found in Payment page HTML? " + pricePresent);
+        log.note("Price '$164.98' found in Payment page HTML? " + pricePresent);
         assertTrue(pricePresent, "Expected $164.98 to appear in the Payment page content");
+        step.visualCheckpoint("payment");
+    }
 
-        // Back to cart
-        page.getByText("Back to Cart", new Page.GetByTextOptions().setExact(false)).first().click();
-
-        //  Your Shopping Cart (delete; cart empty)
-        page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Remove")).first().click();        page.waitForTimeout(1000);
-        assertTrue(page.getByText("Your cart is empty", new Page.GetByTextOptions().setExact(false)).first().isVisible(),
-                "Cart should be empty");
-
-        // Close browser + context
-        context.close();
-        browser.close();
+    private void removeFromCart(Scenario.StepContext step) {
+        // Back to cart, then Your Shopping Cart (delete; cart empty)
+        Cart cart = new CheckoutPayment(step.page(), step.waits()).backToCart().removeFirst();
+        assertTrue(cart.isEmpty(), "Cart should be empty");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static playwrightTraditional.LocatorResolver.strategy;
+
+// Page helpers shared by the bookstore tests; each takes the page it works on,
+// so scenario branches running in parallel can use them on their own pages.
+public final class BookstoreHelpers {
+
+    private BookstoreHelpers() {
+    }
+
+    public static void expandFilter(Page page, WaitEngine waits, String name) {
+        page.waitForSelector("body");
+
+        // Most specific first; a strategy that keeps missing is tried last (see LocatorResolver)
+        LocatorResolver.Match header = LocatorResolver.shared().resolve(page, "filter " + name,
+                strategy("button", p -> p.locator("button:has-text('" + name + "')")),
+                strategy("summary", p -> p.locator("summary:has-text('" + name + "')")), // for <details> elements
+                strategy("text", p -> p.locator("text=" + name)),
+                strategy("getByText", p -> p.getByText(name, new Page.GetByTextOptions().setExact(false))),
+                strategy("div", p -> p.locator("div:has-text('" + name + "')")));
+
+        assertTrue(header.found(), "Could not find filter section for: " + name);
+        Locator target = header.locator().first();
+        waits.forMutation("body", target::click); // returns as soon as the section expands
+    }
+
+    public static void assertMoneyInSidebar(Page page, String labelText, String expectedAmount) {
+        new OrderSummary(page).assertAmount(labelText, expectedAmount);
+    }
+
+    public static void assertTextContainsNear(Page page, String anchorText, String mustContain) {
+        // Anchor choice, section text and visible siblings are read in a single evaluateAll
+        Locator anchors = page.getByText(anchorText, new Page.GetByTextOptions().setExact(false));
+        BatchQuery.NearText near = BatchQuery.textNear(anchors);
+        assertTrue(near.anchors() > 0, "No elements found with text: " + anchorText);
+        String sectionText = near.text();
+
+        StepLog.of(page).note(anchorText, "combined text: " + sectionText.substring(0, Math.min(300, sectionText.length())));
+
+        assertTrue(sectionText.toLowerCase().contains(mustContain.toLowerCase()),
+                "Expected near '" + anchorText + "' to contain '" + mustContain + "' but saw: " + sectionText);
+    }
+
+    public static void fillLabeled(Page page, String label, String value) {
+        Locator input = page.getByLabel(label, new Page.GetByLabelOptions().setExact(false));
+        if (input.count() == 0) input = page.getByPlaceholder(label);
+        if (input.count() == 0) fail("Could not find input for label or placeholder: " + label);
+        input.first().fill(value);
+    }
+}
@@ -0,0 +1,409 @@
+package playwrightTraditional;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for depaul.bncollege.com so the suite runs offline and gives the same results every run.
+ * Serves the recorded search, facet, product, cart and checkout pages from src/test/resources/bookstore,
+ * plus the cart, promo and tax endpoints those pages call. Cart and contact details live in cookies,
+ * so a context's storage state fully describes where a shopper is.
+ *
+ * Tests get the URL from {@link #baseUrl()}; pass -Dbookstore.url=https://depaul.bncollege.com/ to hit the live site.
+ */
+public final class BookstoreStub {
+
+    public static final String LIVE_URL = "https://depaul.bncollege.com/";
+
+    record Product(String sku, String slug, String name, String brand, String color, String price, String description) {
+        double amount() {
+            return Double.parseDouble(price);
+        }
+    }
+
+    static final List<Product> CATALOG = List.of(
+            new Product("2074938", "jbl-quantum-tws", "JBL Quantum True Wireless Noise Cancelling Gaming Earbuds",
+                    "JBL", "Black", "164.98",
+                    "Adaptive noise cancelling with Smart Ambient, dual-connect 2.4GHz and Bluetooth, up to 24 hours of play time."),
+            new Product("2074512", "jbl-tune-230nc", "JBL Tune 230NC TWS Earbuds",
+                    "JBL", "Black", "49.99", "Active noise cancelling in a compact charging case."),
+            new Product("2074513", "jbl-vibe-beam", "JBL Vibe Beam True Wireless Earbuds",
+                    "JBL", "Blue", "49.95", "Deep bass sound and a comfortable stick-closed design."),
+            new Product("2071100", "apple-airpods-pro-2", "Apple AirPods Pro (2nd Generation) Wireless Earbuds",
+                    "Apple", "White", "249.00", "Up to 2x more active noise cancellation than the previous generation."),
+            new Product("2073301", "skullcandy-dime-3", "Skullcandy Dime 3 True Wireless Earbuds",
+                    "Skullcandy", "Black", "24.99", "Pocket-size earbuds with up to 20 hours of battery."),
+            new Product("2072215", "sony-wf-c500", "Sony WF-C500 Wireless Earbuds",
+                    "Sony", "White", "99.99", "Clear sound with DSEE and a compact, ergonomic shape."));
+
+    static final String HANDLING = "3.00";
+    // Recorded tax per checkout step; null means the storefront still shows "TBD"
+    static final Map<String, String> TAX_BY_STEP = Map.of("pickup", "0.31", "payment", "17.22");
+
+    private static volatile BookstoreStub shared;
+
+    // Shared instance, started on first use and stopped when the JVM exits
+    public static synchronized BookstoreStub shared() {
+        if (shared == null) {
+            shared = new BookstoreStub(Integer.getInteger("bookstore.port", 0));
+            shared.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "bookstore-stub-shutdown"));
+        }
+        return shared;
+    }
+
+    // Live storefront when -Dbookstore.url is set, otherwise the local stand-in
+    public static String baseUrl() {
+        String configured = System.getProperty("bookstore.url");
+        if (configured != null && !configured.isBlank()) return configured;
+        return shared().url();
+    }
+
+    private final HttpServer server;
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final long taxDelayMs = Long.getLong("bookstore.taxDelayMs", 400);
+
+    public BookstoreStub(int port) {
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "bookstore-stub");
+            t.setDaemon(true);
+            return t;
+        }));
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try (ex) {
+            String path = ex.getRequestURI().getPath();
+            Map<String, String> query = parseForm(ex.getRequestURI().getRawQuery());
+            Map<String, String> cookies = parseCookies(ex.getRequestHeaders().getFirst("Cookie"));
+            boolean post = "POST".equalsIgnoreCase(ex.getRequestMethod());
+            Map<String, String> form = post ? parseForm(new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)) : Map.of();
+
+            if (path.startsWith("/assets/")) {
+                String name = path.substring("/assets/".length());
+                send(ex, 200, name.endsWith(".css") ? "text/css" : "application/javascript", template(name));
+            } else if (path.equals("/")) {
+                sendPage(ex, cookies, "DePaul University Bookstore", template("home.html"));
+            } else if (path.equals("/search")) {
+                sendPage(ex, cookies, "Search results", renderSearch(query));
+            } else if (path.equals("/search/results")) {
+                send(ex, 200, "text/html", renderProducts(filter(query)));
+            } else if (path.startsWith("/p/")) {
+                Product p = bySlug(path.substring(3));
+                if (p == null) send(ex, 404, "text/html", "Not found");
+                else sendPage(ex, cookies, p.name(), renderProductDetail(p));
+            } else if (path.equals("/cart/add") && post) {
+                Map<String, Integer> cart = cart(cookies);
+                cart.merge(form.getOrDefault("sku", ""), 1, Integer::sum);
+                setCookie(ex, "bn_cart", encodeCart(cart));
+                send(ex, 200, "application/json", "{\"count\":" + count(cart) + "}");
+            } else if (path.equals("/cart/remove") && post) {
+                Map<String, Integer> cart = cart(cookies);
+                cart.remove(form.getOrDefault("sku", ""));
+                setCookie(ex, "bn_cart", encodeCart(cart));
+                send(ex, 200, "application/json", "{\"count\":" + count(cart) + "}");
+            } else if (path.equals("/cart/promo") && post) {
+                send(ex, 200, "application/json",
+                        "{\"valid\":false,\"message\":\"The coupon code entered is not valid.\"}");
+            } else if (path.equals("/cart/tax")) {
+                sendTax(ex, cookies, query.getOrDefault("step", ""));
+            } else if (path.equals("/cart")) {
+                sendPage(ex, cookies, "Shopping Cart", renderCart(cart(cookies)));
+            } else if (path.equals("/checkout/login")) {
+                sendPage(ex, cookies, "Sign In", template("checkout-login.html"));
+            } else if (path.equals("/checkout/contact") && post) {
+                setCookie(ex, "bn_contact", encodeForm(form));
+                redirect(ex, "/checkout/pickup");
+            } else if (path.equals("/checkout/contact")) {
+                sendPage(ex, cookies, "Contact Information",
+                        fill(template("checkout-contact.html"), Map.of("summary", renderSummary(cart(cookies), "contact"))));
+            } else if (path.equals("/checkout/pickup")) {
+                Map<String, String> contact = parseForm(cookies.get("bn_contact"));
+                Map<String, String> values = new LinkedHashMap<>();
+                for (String field : List.of("firstName", "lastName", "email", "phone")) {
+                    values.put(field, escape(contact.getOrDefault(field, "")));
+                }
+                values.put("summary", renderSummary(cart(cookies), "pickup"));
+                sendPage(ex, cookies, "Pick Up Information", fill(template("checkout-pickup.html"), values));
+            } else if (path.equals("/checkout/payment")) {
+                sendPage(ex, cookies, "Payment Information",
+                        fill(template("checkout-payment.html"), Map.of("summary", renderSummary(cart(cookies), "payment"))));
+            } else {
+                send(ex, 404, "text/html", "Not found");
+            }
+        }
+    }
+
+    // --- pages
+
+    private String renderSearch(Map<String, String> query) {
+        String text = query.getOrDefault("text", "");
+        return fill(template("search.html"), Map.of(
+                "query", escape(text),
+                "products", renderProducts(filter(query))));
+    }
+
+    static List<Product> filter(Map<String, String> query) {
+        String text = query.getOrDefault("text", "").toLowerCase(Locale.ROOT);
+        List<String> brands = values(query.get("brand"));
+        List<String> colors = values(query.get("color"));
+        List<String> prices = values(query.get("price"));
+        return CATALOG.stream()
+                .filter(p -> text.isBlank() || List.of(text.split("\\s+")).stream()
+                        .allMatch(term -> p.name().toLowerCase(Locale.ROOT).contains(term.replaceAll("s$", ""))))
+                .filter(p -> brands.isEmpty() || brands.contains(p.brand()))
+                .filter(p -> colors.isEmpty() || colors.contains(p.color()))
+                .filter(p -> prices.isEmpty() || prices.stream().anyMatch(range -> inRange(p.amount(), range)))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean inRange(double amount, String range) {
+        return switch (range) {
+            case "under-25" -> amount < 25;
+            case "25-50" -> amount >= 25 && amount <= 50;
+            case "over-50" -> amount > 50;
+            default -> true;
+        };
+    }
+
+    static String renderProducts(List<Product> products) {
+        if (products.isEmpty()) return "<p class=\"no-results\">No products match your search.</p>";
+        StringBuilder sb = new StringBuilder();
+        for (Product p : products) {
+            sb.append("<div class=\"product-tile\" data-sku=\"").append(p.sku()).append("\">")
+                    .append("<a class=\"product-tile__name\" href=\"/p/").append(p.slug()).append("\">")
+                    .append(escape(p.name())).append("</a>")
+                    .append("<span class=\"product-tile__price\">$").append(p.price()).append("</span>")
+                    .append("</div>\n");
+        }
+        return sb.toString();
+    }
+
+    private String renderProductDetail(Product p) {
+        return fill(template("product.html"), Map.of(
+                "sku", p.sku(),
+                "name", escape(p.name()),
+                "price", p.price(),
+                "description", escape(p.description())));
+    }
+
+    private String renderCart(Map<String, Integer> cart) {
+        if (count(cart) == 0) return template("cart-empty.html");
+        StringBuilder items = new StringBuilder();
+        for (Map.Entry<String, Integer> e : cart.entrySet()) {
+            Product p = bySku(e.getKey());
+            if (p == null) continue;
+            items.append("<div class=\"bned-cart-item\" data-sku=\"").append(p.sku()).append("\">")
+                    .append("<a class=\"bned-cart-item-name\" href=\"/p/").append(p.slug()).append("\">")
+                    .append(escape(p.name())).append("</a>")
+                    .append("<label class=\"bned-cart-item-qty\">Qty <input type=\"number\" min=\"1\" value=\"")
+                    .append(e.getValue()).append("\"></label>")
+                    .append("<span class=\"bned-cart-item-price\">$").append(p.price()).append("</span>")
+                    .append("<button type=\"button\" class=\"bned-cart-remove\" data-sku=\"").append(p.sku())
+                    .append("\">Remove</button>")
+                    .append("</div>\n");
+        }
+        String subtotal = money(subtotal(cart));
+        return fill(template("cart.html"), Map.of(
+                "items", items.toString(),
+                "subtotal", subtotal,
+                "handling", HANDLING,
+                "total", money(subtotal(cart) + Double.parseDouble(HANDLING))));
+    }
+
+    private String renderSummary(Map<String, Integer> cart, String step) {
+        StringBuilder items = new StringBuilder();
+        for (Map.Entry<String, Integer> e : cart.entrySet()) {
+            Product p = bySku(e.getKey());
+            if (p == null) continue;
+            items.append("<li>").append(escape(p.name())).append(" <span>$").append(p.price()).append("</span></li>");
+        }
+        double subtotal = subtotal(cart);
+        return fill(template("order-summary.html"), Map.of(
+                "step", step,
+                "items", items.toString(),
+                "subtotal", money(subtotal),
+                "handling", HANDLING,
+                "total", money(subtotal + Double.parseDouble(HANDLING))));
+    }
+
+    private void sendTax(HttpExchange ex, Map<String, String> cookies, String step) throws IOException {
+        try {
+            Thread.sleep(taxDelayMs); // the storefront calculates tax asynchronously
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        double base = subtotal(cart(cookies)) + Double.parseDouble(HANDLING);
+        String tax = TAX_BY_STEP.get(step);
+        String json = tax == null
+                ? "{\"tax\":null,\"total\":\"" + money(base) + "\"}"
+                : "{\"tax\":\"" + tax + "\",\"total\":\"" + money(base + Double.parseDouble(tax)) + "\"}";
+        send(ex, 200, "application/json", json);
+    }
+
+    private void sendPage(HttpExchange ex, Map<String, String> cookies, String title, String content) throws IOException {
+        String html = fill(template("layout.html"), Map.of(
+                "title", escape(title),
+                "cartCount", String.valueOf(count(cart(cookies))),
+                "content", content));
+        send(ex, 200, "text/html", html);
+    }
+
+    // --- cart and cookies
+
+    static Map<String, Integer> cart(Map<String, String> cookies) {
+        Map<String, Integer> cart = new LinkedHashMap<>();
+        String raw = cookies.get("bn_cart");
+        if (raw == null || raw.isBlank()) return cart;
+        for (String entry : raw.split("\\.")) {
+            String[] parts = entry.split("-");
+            if (parts.length == 2 && bySku(parts[0]) != null) cart.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return cart;
+    }
+
+    private static String encodeCart(Map<String, Integer> cart) {
+        return cart.entrySet().stream().map(e -> e.getKey() + "-" + e.getValue()).collect(Collectors.joining("."));
+    }
+
+    private static int count(Map<String, Integer> cart) {
+        return cart.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private static double subtotal(Map<String, Integer> cart) {
+        return cart.entrySet().stream()
+                .mapToDouble(e -> bySku(e.getKey()) == null ? 0 : bySku(e.getKey()).amount() * e.getValue())
+                .sum();
+    }
+
+    private static Product bySku(String sku) {
+        return CATALOG.stream().filter(p -> p.sku().equals(sku)).findFirst().orElse(null);
+    }
+
+    private static Product bySlug(String slug) {
+        return CATALOG.stream().filter(p -> p.slug().equals(slug)).findFirst().orElse(null);
+    }
+
+    private static void setCookie(HttpExchange ex, String name, String value) {
+        ex.getResponseHeaders().add("Set-Cookie", name + "=" + value + "; Path=/; SameSite=Lax");
+    }
+
+    static Map<String, String> parseCookies(String header) {
+        Map<String, String> cookies = new LinkedHashMap<>();
+        if (header == null) return cookies;
+        for (String part : header.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq > 0) cookies.put(part.substring(0, eq).trim(), part.substring(eq + 1).trim());
+        }
+        return cookies;
+    }
+
+    // Repeated keys (brand=JBL&brand=Sony) are joined with commas
+    static Map<String, String> parseForm(String raw) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (raw == null || raw.isBlank()) return values;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            values.merge(key, value, (a, b) -> a + "," + b);
+        }
+        return values;
+    }
+
+    private static String encodeForm(Map<String, String> form) {
+        return form.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static List<String> values(String joined) {
+        return joined == null || joined.isBlank() ? List.of() : List.of(joined.split(","));
+    }
+
+    // --- plumbing
+
+    private String template(String name) {
+        return templates.computeIfAbsent(name, n -> {
+            try (InputStream in = BookstoreStub.class.getResourceAsStream("/bookstore/" + n)) {
+                if (in == null) throw new IllegalStateException("Missing stub resource: bookstore/" + n);
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static String fill(String template, Map<String, String> values) {
+        String out = template;
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            out = out.replace("{{" + e.getKey() + "}}", e.getValue());
+        }
+        return out;
+    }
+
+    static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    static String money(double amount) {
+        return String.format(Locale.ROOT, "%.2f", amount);
+    }
+
+    private static void redirect(HttpExchange ex, String location) throws IOException {
+        ex.getResponseHeaders().add("Location", location);
+        ex.sendResponseHeaders(303, -1);
+    }
+
+    private static void send(HttpExchange ex, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", contentType + "; charset=utf-8");
+        ex.getResponseHeaders().add("Cache-Control", "no-store");
+        if ("HEAD".equalsIgnoreCase(ex.getRequestMethod())) {
+            // The JDK server drops the length on HEAD; real servers report it, and RequestFilter sizes blocks by it
+            ex.getResponseHeaders().set("Content-Length", String.valueOf(bytes.length));
+            ex.sendResponseHeaders(status, -1);
+            ex.close();
+            return;
+        }
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
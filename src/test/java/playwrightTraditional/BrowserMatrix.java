@@ -0,0 +1,22 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a BaseTest method once per browser engine, concurrently, each on that engine's own BrowserPool.
+ * -Dbrowsers=chromium,webkit narrows the list for a run. When every engine is done, one table compares
+ * their outcomes and scenario steps; it is also saved to target/matrix.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@TestTemplate
+@ExtendWith(BrowserMatrixExtension.class)
+public @interface BrowserMatrix {
+    String[] value() default {"chromium", "firefox", "webkit"};
+}
@@ -0,0 +1,144 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// One invocation per engine for @BrowserMatrix methods. Each invocation points the BaseTest instance at
+// its engine before @BeforeEach leases a context, and records how it went in the template's report,
+// which JUnit closes (and so prints) once all engines have finished.
+public class BrowserMatrixExtension implements TestTemplateInvocationContextProvider {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BrowserMatrixExtension.class);
+
+    @Override
+    public boolean supportsTestTemplate(ExtensionContext context) {
+        return context.getTestMethod().map(m -> m.isAnnotationPresent(BrowserMatrix.class)).orElse(false);
+    }
+
+    @Override
+    public Stream<TestTemplateInvocationContext> provideTestTemplateInvocationContexts(ExtensionContext context) {
+        String[] declared = context.getRequiredTestMethod().getAnnotation(BrowserMatrix.class).value();
+        String override = System.getProperty("browsers", "");
+        List<String> engines = override.isBlank() ? Arrays.asList(declared)
+                : Arrays.stream(override.split(",")).map(String::trim).filter(e -> !e.isEmpty()).toList();
+        MatrixReport report = context.getStore(NAMESPACE).getOrComputeIfAbsent(MatrixReport.class,
+                k -> new MatrixReport(context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName()),
+                MatrixReport.class);
+        return engines.stream().map(engine -> invocation(engine, report));
+    }
+
+    private static TestTemplateInvocationContext invocation(String engine, MatrixReport report) {
+        return new TestTemplateInvocationContext() {
+            @Override
+            public String getDisplayName(int invocationIndex) {
+                return "[" + engine + "]";
+            }
+
+            @Override
+            public List<Extension> getAdditionalExtensions() {
+                return List.of(
+                        (BeforeEachCallback) ctx -> {
+                            report.started(engine);
+                            if (ctx.getRequiredTestInstance() instanceof BaseTest test) {
+                                test.engine = engine;
+                                test.inMatrix = true;
+                            }
+                        },
+                        (AfterTestExecutionCallback) ctx -> {
+                            Scenario.Report scenario = ctx.getTestInstance().orElse(null) instanceof BaseTest test
+                                    && test.lastScenario != null ? test.lastScenario.report() : null;
+                            report.finished(engine, ctx.getExecutionException().orElse(null), scenario);
+                        });
+            }
+        };
+    }
+
+    record EngineResult(String engine, boolean passed, String error, long millis, Map<String, String> steps) {}
+
+    static final class MatrixReport implements ExtensionContext.Store.CloseableResource {
+        private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+        private final String test;
+        private final Map<String, Long> starts = new ConcurrentHashMap<>();
+        private final Map<String, EngineResult> results = new ConcurrentHashMap<>();
+        private final long created = System.nanoTime();
+
+        MatrixReport(String test) {
+            this.test = test;
+        }
+
+        void started(String engine) {
+            starts.put(engine, System.nanoTime());
+        }
+
+        void finished(String engine, Throwable error, Scenario.Report scenario) {
+            long millis = (System.nanoTime() - starts.getOrDefault(engine, created)) / 1_000_000;
+            Map<String, String> steps = new LinkedHashMap<>();
+            if (scenario != null) {
+                for (Scenario.StepResult r : scenario.results()) steps.put(r.name(), r.status() + " " + r.millis() + " ms");
+            }
+            String message = error == null ? null : String.valueOf(error.getMessage()).lines().findFirst().orElse("");
+            results.put(engine, new EngineResult(engine, error == null, message, millis, steps));
+        }
+
+        @Override
+        public void close() {
+            if (results.isEmpty()) return;
+            List<EngineResult> ordered = new ArrayList<>(results.values());
+            ordered.sort((a, b) -> a.engine().compareTo(b.engine()));
+            System.out.print(table(ordered));
+            try {
+                Path dir = Paths.get("target", "matrix");
+                Files.createDirectories(dir);
+                Files.writeString(dir.resolve(test + ".json"), GSON.toJson(ordered), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                System.out.println("Could not save matrix report: " + e.getMessage());
+            }
+        }
+
+        // Steps as rows, engines as columns; wall time vs the slowest engine shows how well they overlapped
+        String table(List<EngineResult> ordered) {
+            Set<String> steps = new LinkedHashSet<>();
+            ordered.forEach(r -> steps.addAll(r.steps().keySet()));
+            StringBuilder sb = new StringBuilder("Browser matrix " + test + "\n");
+            sb.append(String.format("  %-28s", ""));
+            ordered.forEach(r -> sb.append(String.format("%-20s", r.engine())));
+            sb.append('\n');
+            for (String step : steps) {
+                sb.append(String.format("  %-28s", step));
+                ordered.forEach(r -> sb.append(String.format("%-20s", r.steps().getOrDefault(step, "-"))));
+                sb.append('\n');
+            }
+            sb.append(String.format("  %-28s", "test"));
+            ordered.forEach(r -> sb.append(String.format("%-20s", (r.passed() ? "PASSED " : "FAILED ") + r.millis() + " ms")));
+            sb.append('\n');
+            for (EngineResult r : ordered) {
+                if (!r.passed()) sb.append("  ").append(r.engine()).append(": ").append(r.error()).append('\n');
+            }
+            long slowest = ordered.stream().mapToLong(EngineResult::millis).max().orElse(0);
+            sb.append(String.format("  wall %d ms, slowest engine %d ms%n", (System.nanoTime() - created) / 1_000_000, slowest));
+            return sb.toString();
+        }
+    }
+}
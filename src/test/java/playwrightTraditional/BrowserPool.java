@@ -0,0 +1,176 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe pool of warm browsers shared by every test class in the JVM.
+ * Playwright objects must not be used from two threads at once, so a browser is handed
+ * to one test at a time together with a fresh context, and comes back when the lease closes.
+ * When a BrowserServer is running, the pooled browsers are connections to it rather than local launches.
+ */
+public final class BrowserPool {
+
+    // Engine for tests outside a @BrowserMatrix: -Dbrowser=chromium (default), firefox or webkit
+    public static final String DEFAULT_ENGINE = System.getProperty("browser", "chromium");
+
+    private static final Map<String, BrowserPool> POOLS = new ConcurrentHashMap<>();
+
+    public static BrowserPool shared() {
+        return forEngine(DEFAULT_ENGINE);
+    }
+
+    // One pool per engine, each -Dpool.size browsers, so a matrix runs its engines side by side
+    public static BrowserPool forEngine(String engine) {
+        return POOLS.computeIfAbsent(engine.toLowerCase(Locale.ROOT), e -> new BrowserPool(e,
+                Integer.getInteger("pool.size", Runtime.getRuntime().availableProcessors()),
+                Boolean.parseBoolean(System.getProperty("headless", "true"))));
+    }
+
+    // One Playwright connection per browser so leases never share a driver channel
+    static final class PooledBrowser {
+        final Playwright playwright;
+        final Browser browser;
+
+        PooledBrowser(Playwright playwright, Browser browser) {
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } finally {
+                playwright.close();
+            }
+        }
+    }
+
+    private final String engine;
+    private final int maxSize;
+    private final boolean headless;
+    // A caller that already holds a lease and waits on work needing another one (a Scenario fork)
+    // would deadlock a full pool, so after this long an extra browser is launched for the waiter.
+    private final long overflowAfterMs = Long.getLong("pool.overflowAfterMs", 10_000);
+    private final BlockingQueue<PooledBrowser> idle = new LinkedBlockingQueue<>();
+    private final List<PooledBrowser> all = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    BrowserPool(String engine, int maxSize, boolean headless) {
+        this.engine = engine;
+        this.maxSize = Math.max(1, maxSize);
+        this.headless = headless;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, engine + "-pool-shutdown"));
+    }
+
+    public String engine() {
+        return engine;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    // Blocks until a browser is free, then opens a new isolated context on it
+    public ContextLease lease(Browser.NewContextOptions options) {
+        PooledBrowser pooled = acquire();
+        try {
+            BrowserContext context = pooled.browser.newContext(options);
+            return new ContextLease(this, pooled, context);
+        } catch (RuntimeException e) {
+            release(pooled);
+            throw e;
+        }
+    }
+
+    public ContextLease lease() {
+        return lease(new Browser.NewContextOptions());
+    }
+
+    void release(PooledBrowser pooled) {
+        if (closed || !pooled.browser.isConnected() || all.size() > maxSize) {
+            discard(pooled);
+            return;
+        }
+        idle.offer(pooled);
+    }
+
+    private PooledBrowser acquire() {
+        if (closed) throw new IllegalStateException("Browser pool is shut down");
+        PooledBrowser pooled = idle.poll();
+        if (pooled == null) pooled = createIfBelowLimit(maxSize);
+        long overflowAt = System.currentTimeMillis() + overflowAfterMs;
+        try {
+            while (pooled == null) {
+                pooled = idle.poll(100, TimeUnit.MILLISECONDS);
+                if (pooled == null) {
+                    pooled = createIfBelowLimit(System.currentTimeMillis() < overflowAt ? maxSize : Integer.MAX_VALUE);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser", e);
+        }
+        if (!pooled.browser.isConnected()) {
+            // Crashed while idle: replace it instead of handing out a dead browser
+            discard(pooled);
+            return acquire();
+        }
+        return pooled;
+    }
+
+    private synchronized PooledBrowser createIfBelowLimit(int limit) {
+        if (all.size() >= limit) return null;
+        PooledBrowser pooled = launch();
+        all.add(pooled);
+        return pooled;
+    }
+
+    private PooledBrowser launch() {
+        Playwright playwright = DriverCache.create();
+        try {
+            Browser browser = BrowserServer.connectOrLaunch(browserType(playwright, engine), headless);
+            return new PooledBrowser(playwright, browser);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    static BrowserType browserType(Playwright playwright, String engine) {
+        return switch (engine) {
+            case "chromium" -> playwright.chromium();
+            case "firefox" -> playwright.firefox();
+            case "webkit" -> playwright.webkit();
+            default -> throw new IllegalArgumentException("Unknown browser engine '" + engine + "' (chromium, firefox or webkit)");
+        };
+    }
+
+    private void discard(PooledBrowser pooled) {
+        all.remove(pooled);
+        try {
+            pooled.close();
+        } catch (RuntimeException ignored) {
+            // already gone
+        }
+    }
+
+    public void shutdown() {
+        // Let queued trace and video jobs finish before the JVM exits
+        ArtifactPipeline.shared().drain(2, TimeUnit.MINUTES);
+        closed = true;
+        for (PooledBrowser pooled : all) discard(pooled);
+        idle.clear();
+    }
+}
@@ -0,0 +1,195 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.impl.driver.Driver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A Chromium that outlives the JVM, so test runs attach to a warm browser instead of launching one.
+ * It is Playwright's launchServer started through the driver CLI as a detached process; its endpoint
+ * is kept in .cache/browser-server.json together with the pid and headless flag.
+ *
+ * -Dbrowser.server=connect (default) attaches when a matching server is running and launches locally
+ * otherwise; auto also starts a server for the next run when none is found; off always launches locally.
+ *
+ * mvn -Pbrowser-server test-compile exec:java [-Dexec.args=stop|status] [-Dheadless=false]
+ */
+public final class BrowserServer {
+
+    public enum Mode { OFF, CONNECT, AUTO }
+
+    record Info(String wsEndpoint, long pid, boolean headless, String version) {}
+
+    private static final Gson GSON = new Gson();
+    private static final Path STATE = Paths.get(".cache", "browser-server.json");
+    private static final Path LOG = Paths.get(".cache", "browser-server.log");
+    private static final long START_TIMEOUT_MS = Long.getLong("browser.server.startTimeoutMs", 30_000);
+
+    private static final Mode MODE = switch (System.getProperty("browser.server", "connect").toLowerCase(Locale.ROOT)) {
+        case "off" -> Mode.OFF;
+        case "auto" -> Mode.AUTO;
+        default -> Mode.CONNECT;
+    };
+
+    private static boolean reported;
+
+    private BrowserServer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean headless = Boolean.parseBoolean(System.getProperty("headless", "true"));
+        String command = args.length == 0 ? "start" : args[0];
+        switch (command) {
+            case "stop" -> System.out.println(stop() ? "Browser server stopped" : "No browser server running");
+            case "status" -> System.out.println(running(headless).map(i -> "Running at " + i.wsEndpoint() + " (pid "
+                    + i.pid() + ", headless " + i.headless() + ")").orElse("No browser server running"));
+            default -> {
+                // Unpacks the driver (or finds it in DriverCache) and installs Chromium if needed
+                DriverCache.create().close();
+                DriverCache.installBrowser("chromium");
+                Info info = start(headless);
+                System.out.println("Browser server at " + info.wsEndpoint() + " (pid " + info.pid() + ")");
+            }
+        }
+        System.exit(0);
+    }
+
+    // A pooled browser: the warm server's if it can be reached, a local launch otherwise
+    static Browser connectOrLaunch(BrowserType type, boolean headless) {
+        // The server runs Chromium; firefox and webkit pools always launch their own
+        if (MODE != Mode.OFF && type.name().equals("chromium")) {
+            Optional<Info> server = running(headless);
+            if (server.isEmpty() && MODE == Mode.AUTO) server = startQuietly(headless);
+            if (server.isPresent()) {
+                try {
+                    Browser browser = type.connect(server.get().wsEndpoint(), new BrowserType.ConnectOptions().setTimeout(5_000));
+                    report("Attached to browser server at " + server.get().wsEndpoint());
+                    return browser;
+                } catch (PlaywrightException e) {
+                    report("Browser server did not answer, launching locally: " + e.getMessage());
+                }
+            }
+        }
+        DriverCache.installBrowser(type.name());
+        return type.launch(new BrowserType.LaunchOptions().setHeadless(headless));
+    }
+
+    // A recorded server whose process is alive and which matches this run's Playwright version and headless flag
+    static Optional<Info> running(boolean headless) {
+        if (!Files.exists(STATE)) return Optional.empty();
+        Info info;
+        try {
+            info = GSON.fromJson(Files.readString(STATE, StandardCharsets.UTF_8), Info.class);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+        if (info == null || !ProcessHandle.of(info.pid()).map(ProcessHandle::isAlive).orElse(false)) {
+            deleteState();
+            return Optional.empty();
+        }
+        if (!DriverCache.VERSION.equals(info.version()) || info.headless() != headless) return Optional.empty();
+        return Optional.of(info);
+    }
+
+    static synchronized Info start(boolean headless) {
+        // Pool threads race here in auto mode; the first one starts it, the rest attach
+        Optional<Info> existing = running(headless);
+        if (existing.isPresent()) return existing.get();
+        try {
+            Files.createDirectories(STATE.getParent());
+            Path config = STATE.resolveSibling("browser-server-config.json");
+            Files.writeString(config, GSON.toJson(Map.of("headless", headless,
+                    "port", Integer.getInteger("browser.server.port", 0))), StandardCharsets.UTF_8);
+
+            // Same node and CLI the Java client uses
+            ProcessBuilder builder = Driver.ensureDriverInstalled(Map.of(), false).createProcessBuilder();
+            builder.command().addAll(List.of("launch-server", "--browser", "chromium", "--config", config.toAbsolutePath().toString()));
+            // Output goes to a file, not a pipe, so the server keeps running after this JVM exits
+            builder.redirectErrorStream(true).redirectOutput(LOG.toFile());
+            Process process = builder.start();
+            process.getOutputStream().close();
+
+            String endpoint = awaitEndpoint(process);
+            Info info = new Info(endpoint, process.pid(), headless, DriverCache.VERSION);
+            Path tmp = Files.createTempFile(STATE.getParent(), "browser-server", ".tmp");
+            Files.writeString(tmp, GSON.toJson(info), StandardCharsets.UTF_8);
+            Files.move(tmp, STATE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return info;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static boolean stop() {
+        boolean stopped = false;
+        if (Files.exists(STATE)) {
+            try {
+                Info info = GSON.fromJson(Files.readString(STATE, StandardCharsets.UTF_8), Info.class);
+                stopped = info != null && ProcessHandle.of(info.pid()).map(ProcessHandle::destroy).orElse(false);
+            } catch (IOException | RuntimeException ignored) {
+                // unreadable state file; remove it below
+            }
+        }
+        deleteState();
+        return stopped;
+    }
+
+    private static Optional<Info> startQuietly(boolean headless) {
+        try {
+            Info info = start(headless);
+            report("Started browser server at " + info.wsEndpoint() + "; later runs attach to it");
+            return Optional.of(info);
+        } catch (RuntimeException e) {
+            report("Could not start browser server, launching locally: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    // launch-server prints the ws endpoint as its first line once the browser is up
+    private static String awaitEndpoint(Process process) throws IOException {
+        long deadline = System.currentTimeMillis() + START_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            String output = Files.readString(LOG, StandardCharsets.UTF_8);
+            for (String line : output.split("\\R")) {
+                if (line.startsWith("ws://")) return line.trim();
+            }
+            if (!process.isAlive()) throw new IllegalStateException("Browser server exited: " + output.strip());
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        process.destroy();
+        throw new IllegalStateException("Browser server did not report an endpoint within " + START_TIMEOUT_MS + " ms");
+    }
+
+    private static synchronized void report(String message) {
+        if (reported) return;
+        reported = true;
+        System.out.println(message);
+    }
+
+    private static void deleteState() {
+        try {
+            Files.deleteIfExists(STATE);
+        } catch (IOException ignored) {
+            // stale file; the next start overwrites it
+        }
+    }
+}
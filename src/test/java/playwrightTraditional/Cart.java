@@ -0,0 +1,175 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.JSHandle;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static playwrightTraditional.LocatorResolver.strategy;
+
+// Shopping cart: line items, fulfillment choice, promo code, Order Summary and the way into checkout
+public final class Cart {
+
+    // quantity is null when the cart shows no quantity control; promoMessage is "" until a code was applied
+    public record State(String heading, String quantity, Map<String, String> summary, String promoMessage, String text) {}
+
+    private static final String HEADER = "h2.bned-cart-main-title, h1:has-text('Shopping Cart')";
+
+    private static final String STATE_FN = "() => {" + OrderSummary.ROWS_JS + """
+              const heading = document.querySelector('h2.bned-cart-main-title, h1');
+              const qty = document.querySelector('input[type=number], [role=spinbutton], select[aria-label*=Qty i], [aria-label*=Qty i]');
+              const promo = [...document.querySelectorAll('[role=alert], .bned-promo-message')]
+                .map(el => el.innerText.trim()).filter(t => t.length > 0)[0];
+              return { heading: heading ? heading.innerText.trim() : '',
+                       quantity: qty ? (qty.value ?? qty.innerText).trim() : null,
+                       summary: summaryRows(), promoMessage: promo || '', text: document.body.innerText };
+            }""";
+
+    private static final String REJECTED = "text=/The coupon code entered is not valid|invalid|not valid|cannot be applied/i";
+    private static final String APPLIED = "text=/(promo|coupon) code applied|discount applied|you saved/i";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final OrderSummary summary;
+    private final Locator header;
+    private final Locator pickup;
+    private final Locator quantity;
+    private final Locator apply;
+    private final Locator checkout;
+    private final Locator remove;
+    private final Locator empty;
+
+    public Cart(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.summary = new OrderSummary(page);
+        this.header = page.locator(HEADER);
+        this.pickup = page.getByText("FAST In-Store Pickup", new Page.GetByTextOptions().setExact(false));
+        this.quantity = page.getByRole(AriaRole.SPINBUTTON).or(page.getByLabel("Qty")).first();
+        this.apply = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Apply").setExact(false)).first();
+        this.checkout = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Proceed to Checkout")).first();
+        this.remove = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Remove")).first();
+        this.empty = page.getByText("Your cart is empty", new Page.GetByTextOptions().setExact(false)).first();
+    }
+
+    public OrderSummary summary() {
+        return summary;
+    }
+
+    // Waits until the cart header exists and is displayed; returns its text
+    public String waitUntilLoaded() {
+        page.waitForSelector(HEADER, new Page.WaitForSelectorOptions()
+                .setState(WaitForSelectorState.ATTACHED)
+                .setTimeout(60000));
+
+        JSHandle headerHandle = header.first().elementHandle();
+        page.waitForFunction(
+                "el => el && window.getComputedStyle(el).visibility !== 'hidden' && window.getComputedStyle(el).display !== 'none'",
+                headerHandle,
+                new Page.WaitForFunctionOptions().setTimeout(30000));
+        return header.first().innerText().trim();
+    }
+
+    // False when the option is missing, which usually means pickup is already selected
+    public boolean choosePickup() {
+        if (pickup.count() == 0) return false;
+        pickup.first().click();
+        return true;
+    }
+
+    public boolean lineItemVisible(String name) {
+        return page.getByText(name, new Page.GetByTextOptions().setExact(false)).first().isVisible();
+    }
+
+    // Spinbutton, select or static text; "1" when the cart shows no quantity control
+    public String quantity() {
+        if (quantity.count() == 0) return "1";
+        String value = quantity.inputValue();
+        return (value != null ? value : quantity.innerText()).trim();
+    }
+
+    public boolean priceVisible() {
+        return page.locator("text=/\\$\\d+\\.\\d{2}/").first().isVisible();
+    }
+
+    public boolean handlingVisible() {
+        // Icon-tolerant; the smallest element with the text first, its containers as the fallback
+        LocatorResolver.Match handling = LocatorResolver.shared().resolve(page, "Handling row",
+                strategy("regex", p -> p.locator("text=/Handling/i")),
+                strategy("has-text", p -> p.locator("div:has-text('Handling'), span:has-text('Handling')")));
+        return handling.found() && handling.locator().first().isVisible();
+    }
+
+    public boolean rowVisible(String label) {
+        return page.getByText(label, new Page.GetByTextOptions().setExact(false)).first().isVisible();
+    }
+
+    // Applies the code and waits for the storefront's answer, accepted or rejected; promoRejected() tells which.
+    // False when there is no promo field
+    public boolean applyPromo(String code) {
+        LocatorResolver.Match promo = LocatorResolver.shared().resolve(page, "Promo input",
+                strategy("role", p -> p.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Promo"))),
+                strategy("placeholder", p -> p.getByPlaceholder("Promo code")));
+        if (!promo.found()) return false;
+
+        promo.locator().first().fill(code);
+        apply.click();
+        waits.forVisible(page.locator(REJECTED).or(page.locator(APPLIED)).first(), "promo answer");
+        return true;
+    }
+
+    public boolean promoRejected() {
+        Locator rejection = page.locator("text=/The coupon code entered is not valid/i");
+        if (rejection.count() == 0) {
+            rejection = page.locator("text=/invalid|not valid|cannot be applied/i");
+        }
+        return rejection.count() > 0 && rejection.first().isVisible();
+    }
+
+    // Proceed to Checkout, then "Proceed as Guest" on the sign-in page
+    public CheckoutContact checkoutAsGuest() {
+        checkout.click();
+
+        // Wait for the Sign In / Create Account page to fully load
+        page.waitForLoadState(LoadState.NETWORKIDLE, new Page.WaitForLoadStateOptions().setTimeout(60000));
+
+        Locator createAccountHeader = page.getByRole(AriaRole.HEADING, new Page.GetByRoleOptions().setName("Create Account"));
+        createAccountHeader.first().waitFor(new Locator.WaitForOptions().setTimeout(15000).setState(WaitForSelectorState.VISIBLE));
+        assertTrue(createAccountHeader.first().isVisible(), "Create Account label should be present");
+        StepLog.of(page).note("Checkout page loaded: Create Account visible");
+
+        // Button role first, visible text as the fallback; see LocatorResolver for when the order changes
+        LocatorResolver.Match guest = LocatorResolver.shared().resolve(page, "Proceed as Guest",
+                strategy("role", p -> p.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Proceed as Guest").setExact(false))),
+                strategy("text", p -> p.locator("text=/Proceed as Guest/i")));
+        assertTrue(guest.found(), "'Proceed as Guest' should be present and visible on Create Account page");
+        Locator proceedAsGuest = guest.locator().first();
+
+        // Wait for animations or lazy render
+        waits.forVisible(proceedAsGuest, "Proceed as Guest");
+        proceedAsGuest.scrollIntoViewIfNeeded();
+        proceedAsGuest.click();
+        return new CheckoutContact(page, waits);
+    }
+
+    public Cart removeFirst() {
+        remove.click();
+        waits.forVisible(empty, "empty cart");
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return empty.isVisible();
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State((String) m.get("heading"), (String) m.get("quantity"), OrderSummary.strings((Map<?, ?>) m.get("summary")),
+                (String) m.get("promoMessage"), (String) m.get("text"));
+    }
+}
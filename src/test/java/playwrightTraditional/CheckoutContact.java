@@ -0,0 +1,66 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+
+import java.util.Map;
+
+// First checkout page: the guest's contact details
+public final class CheckoutContact {
+
+    // Field label -> current value, plus the Order Summary rows
+    public record State(Map<String, String> fields, Map<String, String> summary) {}
+
+    private static final String STATE_FN = "() => {" + OrderSummary.ROWS_JS + """
+              const fields = {};
+              for (const input of document.querySelectorAll('input')) {
+                const label = input.labels && input.labels[0] ? input.labels[0].innerText.trim()
+                                                              : (input.placeholder || input.name);
+                if (label) fields[label] = input.value;
+              }
+              return { fields, summary: summaryRows() };
+            }""";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final OrderSummary summary;
+    private final Locator heading;
+    private final Locator continueButton;
+
+    public CheckoutContact(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.summary = new OrderSummary(page);
+        this.heading = page.locator("h2.bned-checkout-section-headline",
+                new Page.LocatorOptions().setHasText("Contact Information"));
+        this.continueButton = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Continue").setExact(false)).first();
+    }
+
+    public OrderSummary summary() {
+        return summary;
+    }
+
+    public CheckoutContact waitUntilLoaded() {
+        page.waitForCondition(heading::isVisible, new Page.WaitForConditionOptions().setTimeout(20000));
+        return this;
+    }
+
+    public CheckoutContact fill(String firstName, String lastName, String email, String phone) {
+        BookstoreHelpers.fillLabeled(page, "First Name", firstName);
+        BookstoreHelpers.fillLabeled(page, "Last Name", lastName);
+        BookstoreHelpers.fillLabeled(page, "Email", email);
+        BookstoreHelpers.fillLabeled(page, "Phone", phone);
+        return this;
+    }
+
+    public CheckoutPickup continueToPickup() {
+        continueButton.click();
+        return new CheckoutPickup(page, waits);
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State(OrderSummary.strings((Map<?, ?>) m.get("fields")), OrderSummary.strings((Map<?, ?>) m.get("summary")));
+    }
+}
@@ -0,0 +1,48 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+
+import java.util.Map;
+
+// Last checkout page: payment details and the final Order Summary
+public final class CheckoutPayment {
+
+    public record State(String html, Map<String, String> summary) {}
+
+    private static final String STATE_FN = "() => {" + OrderSummary.ROWS_JS + """
+              return { html: document.documentElement.outerHTML, summary: summaryRows() };
+            }""";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final OrderSummary summary;
+    private final Locator backToCart;
+
+    public CheckoutPayment(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.summary = new OrderSummary(page);
+        this.backToCart = page.getByText("Back to Cart", new Page.GetByTextOptions().setExact(false)).first();
+    }
+
+    public OrderSummary summary() {
+        return summary;
+    }
+
+    public CheckoutPayment waitUntilLoaded() {
+        page.waitForSelector("text=/Payment( Information| Method| Options)?/i",
+                new Page.WaitForSelectorOptions().setTimeout(20000));
+        return this;
+    }
+
+    public Cart backToCart() {
+        backToCart.click();
+        return new Cart(page, waits);
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State((String) m.get("html"), OrderSummary.strings((Map<?, ?>) m.get("summary")));
+    }
+}
@@ -0,0 +1,74 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+
+import java.util.Map;
+
+// Second checkout page: the filled-in contact details and where and by whom the order is picked up
+public final class CheckoutPickup {
+
+    // Section texts are empty when the section is missing
+    public record State(String contactText, String pickupText, boolean contactErrors, Map<String, String> summary) {}
+
+    private static final String STATE_FN = "() => {" + OrderSummary.ROWS_JS + """
+              const section = title => {
+                const heading = [...document.querySelectorAll('h2, h3')].find(h => h.innerText.includes(title));
+                if (!heading) return '';
+                return (heading.closest('div, section, form') || heading.parentElement).innerText;
+              };
+              return { contactText: section('Contact Information'), pickupText: section('Pick Up Information'),
+                       contactErrors: document.body.innerText.includes('Errors were found with the contact information'),
+                       summary: summaryRows() };
+            }""";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final OrderSummary summary;
+    private final Locator pickupSection;
+    private final Locator continueButton;
+
+    public CheckoutPickup(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.summary = new OrderSummary(page);
+        this.pickupSection = page.locator("text=Pick Up Information").locator("xpath=..");
+        this.continueButton = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Continue").setExact(false)).first();
+    }
+
+    public OrderSummary summary() {
+        return summary;
+    }
+
+    public CheckoutPickup waitUntilLoaded(double timeoutMs) {
+        page.waitForSelector("h2:has-text('Contact Information'), h3:has-text('Contact Information')",
+                new Page.WaitForSelectorOptions().setTimeout(timeoutMs));
+        return this;
+    }
+
+    // Visible as its own element, or at least mentioned in the Pick Up Information section
+    public boolean showsInPickupSection(String text) {
+        Locator element = page.getByText(text, new Page.GetByTextOptions().setExact(false)).first();
+        try {
+            if (element.count() > 0 && element.isVisible()) return true;
+        } catch (RuntimeException e) {
+            StepLog.of(page).note(text, "visibility check threw: " + e.getMessage());
+        }
+        boolean inSection = pickupSection.count() > 0 && pickupSection.first().innerText().toLowerCase().contains(text.toLowerCase());
+        StepLog.of(page).note(text, "fallback check via section text: " + inSection);
+        return inSection;
+    }
+
+    public CheckoutPayment continueToPayment() {
+        continueButton.scrollIntoViewIfNeeded();
+        continueButton.click();
+        return new CheckoutPayment(page, waits);
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State((String) m.get("contactText"), (String) m.get("pickupText"), Boolean.TRUE.equals(m.get("contactErrors")),
+                OrderSummary.strings((Map<?, ?>) m.get("summary")));
+    }
+}
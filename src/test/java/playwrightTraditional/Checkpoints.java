@@ -0,0 +1,159 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.Cookie;
+import com.microsoft.playwright.options.SameSiteAttribute;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Named snapshots of a shopper's progress: BrowserContext.storageState plus the page URL.
+ * A later-stage test restores one into its fresh context and starts from there instead of replaying
+ * search, facets and add-to-cart. URLs are stored relative to the storefront base URL, so a checkpoint
+ * taken against one stand-in port still works on the next run.
+ *
+ * Stored in -Dcheckpoint.dir (default .cache/checkpoints); older than -Dcheckpoint.maxAgeMinutes (default 120) counts as missing.
+ */
+public final class Checkpoints {
+
+    public record Checkpoint(String name, String url, String baseUrl, long savedAt, String storageState) {}
+
+    private record Meta(String url, String baseUrl, long savedAt) {}
+
+    private static final Gson GSON = new Gson();
+    private static final Checkpoints SHARED = new Checkpoints(
+            Paths.get(System.getProperty("checkpoint.dir", ".cache/checkpoints")),
+            Duration.ofMinutes(Long.getLong("checkpoint.maxAgeMinutes", 120)));
+
+    public static Checkpoints shared() {
+        return SHARED;
+    }
+
+    private final Path dir;
+    private final Duration maxAge;
+
+    public Checkpoints(Path dir, Duration maxAge) {
+        this.dir = dir;
+        this.maxAge = maxAge;
+    }
+
+    public void save(String name, BrowserContext context, Page page, String baseUrl) {
+        Checkpoint checkpoint = capture(name, context, page, baseUrl);
+        Meta meta = new Meta(checkpoint.url(), baseUrl, checkpoint.savedAt());
+        try {
+            Files.createDirectories(dir);
+            writeAtomically(dir.resolve(name + ".state.json"), checkpoint.storageState());
+            writeAtomically(dir.resolve(name + ".json"), GSON.toJson(meta));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Optional<Checkpoint> find(String name) {
+        Path metaFile = dir.resolve(name + ".json");
+        Path stateFile = dir.resolve(name + ".state.json");
+        if (!Files.exists(metaFile) || !Files.exists(stateFile)) return Optional.empty();
+        try {
+            Meta meta = GSON.fromJson(Files.readString(metaFile, StandardCharsets.UTF_8), Meta.class);
+            if (System.currentTimeMillis() - meta.savedAt() > maxAge.toMillis()) return Optional.empty();
+            return Optional.of(new Checkpoint(name, meta.url(), meta.baseUrl(), meta.savedAt(),
+                    Files.readString(stateFile, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Loads cookies and localStorage into the (still empty) context and opens the saved URL.
+    // Returns false when there is no fresh checkpoint with that name.
+    public boolean restore(String name, BrowserContext context, Page page, String baseUrl) {
+        Optional<Checkpoint> found = find(name);
+        if (found.isEmpty()) return false;
+        apply(found.get(), context, page, baseUrl);
+        return true;
+    }
+
+    // localStorage is written from a blank page on each origin rather than by an init script, so applying a
+    // checkpoint again on retry or replay doesn't leave earlier scripts behind in the context
+    public static void apply(Checkpoint checkpoint, BrowserContext context, Page page, String baseUrl) {
+        String oldOrigin = origin(checkpoint.baseUrl());
+        String newOrigin = origin(baseUrl);
+        JsonObject state = JsonParser.parseString(checkpoint.storageState().replace(oldOrigin, newOrigin)).getAsJsonObject();
+
+        List<Cookie> cookies = new ArrayList<>();
+        for (JsonElement element : array(state, "cookies")) cookies.add(cookie(element.getAsJsonObject()));
+        if (!cookies.isEmpty()) context.addCookies(cookies);
+
+        for (JsonElement element : array(state, "origins")) {
+            JsonObject origin = element.getAsJsonObject();
+            JsonArray items = array(origin, "localStorage");
+            if (items.isEmpty()) continue;
+            String blank = origin.get("origin").getAsString() + "/__checkpoint-restore";
+            Consumer<Route> empty = route -> route.fulfill(new Route.FulfillOptions().setContentType("text/html").setBody(""));
+            page.route(blank, empty);
+            try {
+                page.navigate(blank);
+                page.evaluate("json => { for (const { name, value } of JSON.parse(json)) localStorage.setItem(name, value); }",
+                        items.toString());
+            } finally {
+                page.unroute(blank, empty);
+            }
+        }
+
+        String url = checkpoint.url().startsWith("http") ? checkpoint.url() : baseUrl + checkpoint.url();
+        page.navigate(url);
+    }
+
+    // In-memory checkpoint of where the context is right now
+    public static Checkpoint capture(String name, BrowserContext context, Page page, String baseUrl) {
+        String url = page.url();
+        if (url.startsWith(baseUrl)) url = url.substring(baseUrl.length());
+        return new Checkpoint(name, url, baseUrl, System.currentTimeMillis(), context.storageState());
+    }
+
+    private static Cookie cookie(JsonObject json) {
+        Cookie cookie = new Cookie(json.get("name").getAsString(), json.get("value").getAsString())
+                .setDomain(json.get("domain").getAsString())
+                .setPath(json.get("path").getAsString());
+        if (json.has("expires") && json.get("expires").getAsDouble() > 0) cookie.setExpires(json.get("expires").getAsDouble());
+        if (json.has("httpOnly")) cookie.setHttpOnly(json.get("httpOnly").getAsBoolean());
+        if (json.has("secure")) cookie.setSecure(json.get("secure").getAsBoolean());
+        if (json.has("sameSite")) {
+            cookie.setSameSite(SameSiteAttribute.valueOf(json.get("sameSite").getAsString().toUpperCase(Locale.ROOT)));
+        }
+        return cookie;
+    }
+
+    private static JsonArray array(JsonObject obj, String key) {
+        return obj.has(key) && obj.get(key).isJsonArray() ? obj.getAsJsonArray(key) : new JsonArray();
+    }
+
+    private static String origin(String url) {
+        int slash = url.indexOf('/', url.indexOf("//") + 2);
+        return slash < 0 ? url : url.substring(0, slash);
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
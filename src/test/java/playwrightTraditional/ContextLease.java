@@ -0,0 +1,46 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * A browser context borrowed from {@link BrowserPool}.
+ * Closing the lease closes the context (clearing cookies, storage and cache) and returns the browser.
+ */
+public final class ContextLease implements AutoCloseable {
+
+    private final BrowserPool pool;
+    private final BrowserPool.PooledBrowser pooled;
+    private final BrowserContext context;
+    private boolean returned;
+
+    ContextLease(BrowserPool pool, BrowserPool.PooledBrowser pooled, BrowserContext context) {
+        this.pool = pool;
+        this.pooled = pooled;
+        this.context = context;
+    }
+
+    public Playwright playwright() {
+        return pooled.playwright;
+    }
+
+    public Browser browser() {
+        return pooled.browser;
+    }
+
+    public BrowserContext context() {
+        return context;
+    }
+
+    @Override
+    public void close() {
+        if (returned) return;
+        returned = true;
+        try {
+            context.close(); // also finalizes any video recorded in this context
+        } finally {
+            pool.release(pooled);
+        }
+    }
+}
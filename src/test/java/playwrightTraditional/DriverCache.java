@@ -0,0 +1,162 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.impl.driver.Driver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the unpacked Playwright driver (Node plus the CLI package) between runs. Without it every JVM's
+ * first Playwright.create() unpacks it into a new temp directory and runs the browser install check.
+ * The first run copies the driver it unpacked into -Dplaywright.driverCache (default
+ * .cache/playwright-driver/VERSION-OS-ARCH); later runs point Playwright at that copy.
+ * A new Playwright version gets a new directory.
+ *
+ * Playwright's Driver is one per JVM and the first create() decides whether browsers are installed, so
+ * a run whose first create() came from the API tier would never install them. Here the driver is only
+ * ever unpacked; {@link #installBrowser} runs "playwright install ENGINE" once per JVM right before a
+ * browser is launched locally, whichever driver (temp or cached) is in use.
+ */
+public final class DriverCache {
+
+    static final String VERSION = playwrightVersion();
+
+    private static final Path DIR = Paths.get(System.getProperty("playwright.driverCache", ".cache/playwright-driver"))
+            .resolve(VERSION + "-"
+                    + System.getProperty("os.name").toLowerCase(Locale.ROOT).replaceAll("\\W+", "") + "-"
+                    + System.getProperty("os.arch"));
+
+    private static final Set<String> INSTALLED = new HashSet<>();
+
+    private static boolean cached;
+    private static boolean saved;
+
+    private DriverCache() {
+    }
+
+    // Drop-in for Playwright.create(options)
+    public static Playwright create(Playwright.CreateOptions options) {
+        synchronized (DriverCache.class) {
+            if (!cached && System.getProperty("playwright.cli.dir") == null && isComplete(DIR)) {
+                System.setProperty("playwright.cli.dir", DIR.toAbsolutePath().toString());
+            }
+            cached = true;
+            // Unpack only, before Playwright.create can initialize the driver with its own install choice
+            Driver.ensureDriverInstalled(Map.of(), false);
+        }
+        Playwright playwright = Playwright.create(options);
+        save();
+        return playwright;
+    }
+
+    public static Playwright create() {
+        return create(new Playwright.CreateOptions());
+    }
+
+    // A no-op when the browser is already installed; failures are reported and the launch reports the rest
+    public static void installBrowser(String engine) {
+        synchronized (INSTALLED) {
+            if (!INSTALLED.add(engine) || System.getenv("PLAYWRIGHT_SKIP_BROWSER_DOWNLOAD") != null) return;
+            ProcessBuilder builder = Driver.ensureDriverInstalled(Map.of(), false).createProcessBuilder();
+            builder.command().addAll(List.of("install", engine));
+            builder.redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.INHERIT);
+            try {
+                Process process = builder.start();
+                process.getOutputStream().close();
+                if (!process.waitFor(10, TimeUnit.MINUTES)) {
+                    process.destroyForcibly();
+                    System.out.println("Installing " + engine + " did not finish in 10 minutes");
+                } else if (process.exitValue() != 0) {
+                    System.out.println("Installing " + engine + " failed with exit code " + process.exitValue());
+                }
+            } catch (IOException e) {
+                System.out.println("Could not install " + engine + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // After the first create() the driver is unpacked (or was already cached); copy it once per JVM
+    private static synchronized void save() {
+        if (saved) return;
+        saved = true;
+        if (isComplete(DIR)) return;
+        Path source = Driver.ensureDriverInstalled(Map.of(), false).driverDir();
+        Path tmp = DIR.resolveSibling(DIR.getFileName() + ".tmp-" + ManagementFactory.getRuntimeMXBean().getPid());
+        try {
+            copyRecursively(source, tmp);
+            Files.move(tmp, DIR, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            // Another JVM got there first, or the disk is full: the temp driver still works for this run
+            deleteRecursively(tmp);
+        }
+    }
+
+    // The package has no manifest details under exec:java's class loader, so fall back to reading the manifests
+    private static String playwrightVersion() {
+        String version = Playwright.class.getPackage().getImplementationVersion();
+        if (version != null) return version;
+        try {
+            Enumeration<URL> manifests = Playwright.class.getClassLoader().getResources("META-INF/MANIFEST.MF");
+            while (manifests.hasMoreElements()) {
+                try (InputStream in = manifests.nextElement().openStream()) {
+                    Attributes main = new Manifest(in).getMainAttributes();
+                    if ("Playwright - Main Library".equals(main.getValue(Attributes.Name.IMPLEMENTATION_TITLE))) {
+                        return main.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // fall through
+        }
+        return "unknown";
+    }
+
+    private static boolean isComplete(Path dir) {
+        return Files.exists(dir.resolve("package").resolve("cli.js"))
+                && (Files.isExecutable(dir.resolve("node")) || Files.exists(dir.resolve("node.exe")));
+    }
+
+    private static void copyRecursively(Path from, Path to) throws IOException {
+        try (Stream<Path> files = Files.walk(from)) {
+            files.forEach(source -> {
+                Path target = to.resolve(from.relativize(source).toString());
+                try {
+                    if (Files.isDirectory(source)) Files.createDirectories(target);
+                    else Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+            // leftovers are harmless; the next save uses a different temp name
+        }
+    }
+}
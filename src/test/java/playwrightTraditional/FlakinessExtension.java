@@ -0,0 +1,35 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Records every test's outcome in FlakinessTracker (scenario steps record their own) and, once the
+// whole run is over, prints the flakiness report and saves the history.
+public class FlakinessExtension implements BeforeAllCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        // Closed by JUnit when the root context ends, i.e. after the last test class
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL)
+                .getOrComputeIfAbsent(FlakinessExtension.class, k -> new RunEnd(), RunEnd.class);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        // Matrix invocations are tracked per engine
+        String key = context.getTestInstance().orElse(null) instanceof BaseTest test ? test.testName()
+                : context.getRequiredTestClass().getSimpleName() + "." + context.getRequiredTestMethod().getName();
+        Throwable error = context.getExecutionException().orElse(null);
+        FlakinessTracker.shared().record(key, error == null, error);
+    }
+
+    private static final class RunEnd implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            FlakinessTracker tracker = FlakinessTracker.shared();
+            System.out.print(tracker.report());
+            tracker.flush();
+        }
+    }
+}
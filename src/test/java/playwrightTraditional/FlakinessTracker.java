@@ -0,0 +1,172 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pass/fail history per test ("BookstoreE2ETest.bookstore_purchase_pathway") and per scenario step
+ * ("BookstoreE2ETest.bookstore_purchase_pathway/add-to-cart"), kept across runs in -Dflaky.history
+ * (default .cache/flakiness.json), last 50 outcomes each.
+ *
+ * The flakiness score is the share of consecutive runs whose outcome flipped. A failure counts as flaky
+ * when the first line of its message names a race (a destroyed execution context, a closed target, an
+ * interrupted page load, a network error, an element detached mid-action), or when the key's history
+ * before this failure has at least -Dflaky.minRuns (4) runs and a score of at least -Dflaky.minScore
+ * (0.3). Timeouts are not races: a selector that no longer matches times out every run.
+ */
+public final class FlakinessTracker {
+
+    public enum Kind { FLAKY, DETERMINISTIC }
+
+    static final class History {
+        String outcomes = ""; // oldest first, 'P' or 'F'
+        String lastError;
+        long updatedAt;
+    }
+
+    private static final int WINDOW = 50;
+    private static final Pattern TRANSIENT = Pattern.compile(
+            "Execution context was destroyed|Target (page, context or browser )?(has been )?closed"
+                    + "|interrupted by another navigation|net::ERR_|detached from (the )?DOM|not attached to the DOM",
+            Pattern.CASE_INSENSITIVE);
+    // Driver errors read "Error {\n  message='...'\n  name=..."; the call log after the first line is not the cause
+    private static final Pattern DRIVER_MESSAGE = Pattern.compile("message='([^\n]*)");
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // -Dflaky.history=off keeps the history in memory only, e.g. for load runs
+    private static final FlakinessTracker SHARED = new FlakinessTracker(
+            "off".equalsIgnoreCase(System.getProperty("flaky.history")) ? null
+                    : Paths.get(System.getProperty("flaky.history", ".cache/flakiness.json")));
+
+    public static FlakinessTracker shared() {
+        return SHARED;
+    }
+
+    private final Path file;
+    private final int minRuns;
+    private final double minScore;
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    public FlakinessTracker(Path file) {
+        this(file, Integer.getInteger("flaky.minRuns", 4), Double.parseDouble(System.getProperty("flaky.minScore", "0.3")));
+    }
+
+    public FlakinessTracker(Path file, int minRuns, double minScore) {
+        this.file = file;
+        this.minRuns = minRuns;
+        this.minScore = minScore;
+        histories.putAll(read());
+    }
+
+    public void record(String key, boolean passed, Throwable error) {
+        History h = histories.computeIfAbsent(key, k -> new History());
+        synchronized (h) {
+            String next = h.outcomes + (passed ? 'P' : 'F');
+            h.outcomes = next.length() > WINDOW ? next.substring(next.length() - WINDOW) : next;
+            if (!passed && error != null) h.lastError = firstLine(error);
+            h.updatedAt = System.currentTimeMillis();
+        }
+    }
+
+    // Call before recording the failure being classified, so the history is the one it failed against
+    public Kind classify(String key, Throwable error) {
+        if (error != null && TRANSIENT.matcher(headline(error)).find()) return Kind.FLAKY;
+        History h = histories.get(key);
+        if (h == null) return Kind.DETERMINISTIC;
+        synchronized (h) {
+            if (h.outcomes.length() < minRuns) return Kind.DETERMINISTIC;
+        }
+        return score(key) >= minScore ? Kind.FLAKY : Kind.DETERMINISTIC;
+    }
+
+    // Share of consecutive runs whose outcome differs: 0 = always the same, 1 = alternates every run
+    public double score(String key) {
+        History h = histories.get(key);
+        if (h == null) return 0;
+        synchronized (h) {
+            String o = h.outcomes;
+            if (o.length() < 2) return 0;
+            int flips = 0;
+            for (int i = 1; i < o.length(); i++) if (o.charAt(i) != o.charAt(i - 1)) flips++;
+            return (double) flips / (o.length() - 1);
+        }
+    }
+
+    public String report() {
+        List<String> keys = new ArrayList<>(histories.keySet());
+        keys.sort(Comparator.comparingDouble(this::score).reversed().thenComparing(Comparator.naturalOrder()));
+        StringBuilder sb = new StringBuilder("Flakiness (flip rate over the last " + WINDOW + " runs)\n");
+        for (String key : keys) {
+            History h = histories.get(key);
+            synchronized (h) {
+                long fails = h.outcomes.chars().filter(c -> c == 'F').count();
+                sb.append(String.format(Locale.ROOT, "  %.2f  %3d/%-3d failed  %-60s %s%n", score(key), fails,
+                        h.outcomes.length(), key, fails == 0 || h.lastError == null ? "" : "last: " + h.lastError));
+            }
+        }
+        return sb.toString();
+    }
+
+    // Newest history per key wins when several JVMs write the same file
+    public synchronized void flush() {
+        if (file == null) return;
+        Map<String, History> merged = new LinkedHashMap<>(read());
+        histories.forEach((key, h) -> {
+            History copy = new History();
+            synchronized (h) {
+                copy.outcomes = h.outcomes;
+                copy.lastError = h.lastError;
+                copy.updatedAt = h.updatedAt;
+            }
+            merged.merge(key, copy, (a, b) -> a.updatedAt >= b.updatedAt ? a : b);
+        });
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "flakiness", ".tmp");
+            Files.writeString(tmp, GSON.toJson(merged), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, History> read() {
+        if (file == null || !Files.exists(file)) return Map.of();
+        try {
+            Map<String, History> stored = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                    new TypeToken<Map<String, History>>() {}.getType());
+            return stored == null ? Map.of() : stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String headline(Throwable t) {
+        String msg = t.getMessage() == null ? "" : t.getMessage();
+        Matcher driver = DRIVER_MESSAGE.matcher(msg);
+        return driver.find() ? driver.group(1) : firstLine(t);
+    }
+
+    private static String firstLine(Throwable t) {
+        String msg = t.getMessage() == null ? t.getClass().getSimpleName() : t.getMessage();
+        return msg.lines().findFirst().orElse("");
+    }
+}
@@ -0,0 +1,73 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.PlaywrightException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Scoring and classification on synthetic histories; no browser involved
+class FlakinessTrackerTest {
+
+    @TempDir
+    Path dir;
+
+    private FlakinessTracker tracker(String key, String outcomes) {
+        FlakinessTracker tracker = new FlakinessTracker(dir.resolve("flakiness.json"), 4, 0.3);
+        for (char c : outcomes.toCharArray()) tracker.record(key, c == 'P', c == 'P' ? null : new AssertionError("boom"));
+        return tracker;
+    }
+
+    @Test
+    void score_is_the_share_of_flipped_runs() {
+        assertEquals(0.0, tracker("k", "").score("k"));
+        assertEquals(0.0, tracker("k", "P").score("k"));
+        assertEquals(0.0, tracker("k", "PPPP").score("k"));
+        assertEquals(1.0, tracker("k", "PFPF").score("k"));
+        assertEquals(0.25, tracker("k", "PPPPF").score("k"), 1e-9);
+        assertEquals(0.0, tracker("k", "PPPP").score("other"));
+    }
+
+    @Test
+    void first_regression_after_a_passing_history_is_deterministic() {
+        FlakinessTracker tracker = tracker("k", "PPPPPPPP");
+        assertEquals(FlakinessTracker.Kind.DETERMINISTIC, tracker.classify("k", new AssertionError("Expected $164.98")));
+    }
+
+    @Test
+    void a_single_pass_in_a_short_history_is_not_enough() {
+        assertEquals(FlakinessTracker.Kind.DETERMINISTIC, tracker("k", "PF").classify("k", new AssertionError("x")));
+        assertEquals(FlakinessTracker.Kind.DETERMINISTIC, tracker("k", "FFFFFFFP").classify("k", new AssertionError("x")));
+    }
+
+    @Test
+    void a_history_that_keeps_flipping_is_flaky() {
+        assertEquals(FlakinessTracker.Kind.FLAKY, tracker("k", "PFPPFP").classify("k", new AssertionError("x")));
+    }
+
+    @Test
+    void locator_timeouts_are_not_transient() {
+        PlaywrightException timeout = new PlaywrightException("Error {\n  message='Timeout 30000ms exceeded.\n"
+                + "=========================== logs ===========================\n"
+                + "waiting for locator(\"#gone\")\n  navigated to \"http://localhost/cart\"\n  name='TimeoutError'\n}");
+        assertEquals(FlakinessTracker.Kind.DETERMINISTIC, tracker("k", "").classify("k", timeout));
+    }
+
+    @Test
+    void races_are_transient_even_without_history() {
+        PlaywrightException destroyed = new PlaywrightException("Error {\n  message='Execution context was destroyed, "
+                + "most likely because of a navigation\n  name='Error'\n}");
+        assertEquals(FlakinessTracker.Kind.FLAKY, tracker("k", "").classify("k", destroyed));
+        assertEquals(FlakinessTracker.Kind.FLAKY, tracker("k", "").classify("k",
+                new PlaywrightException("net::ERR_CONNECTION_RESET at http://localhost/search")));
+    }
+
+    @Test
+    void only_the_headline_of_a_driver_error_is_read() {
+        assertEquals("Timeout 30000ms exceeded.", FlakinessTracker.headline(new PlaywrightException(
+                "Error {\n  message='Timeout 30000ms exceeded.\n  element is not attached to the DOM\n}")));
+        assertEquals("plain", FlakinessTracker.headline(new AssertionError("plain\nsecond")));
+    }
+}
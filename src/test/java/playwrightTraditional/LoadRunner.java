@@ -0,0 +1,199 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Drives many concurrent shoppers through search, filters, add to cart and guest checkout, using the
+ * same page objects and sessions as the tests. Shoppers start at -Dload.rampPerSecond and each runs on
+ * its own virtual thread with a leased pool browser (one Playwright connection per browser, so no two
+ * threads share a driver). The pool stays at -Dpool.size (default: CPU cores) and shoppers beyond that
+ * wait for a browser; browsers go back to the pool between iterations and are reused.
+ *
+ * Prints p50/p90/p95/p99/max per step and writes the same numbers to target/load/load-<timestamp>.json.
+ *
+ * mvn -Pload test-compile exec:java -Dload.sessions=20 -Dload.rampPerSecond=4 [-Dload.iterations=3]
+ */
+public final class LoadRunner {
+
+    public record StepStats(String step, int samples, int errors, long p50, long p90, long p95, long p99, long max) {}
+
+    public record Summary(String baseUrl, int sessions, double rampPerSecond, int iterations, int completed, int failed,
+                          long wallMillis, double checkoutsPerMinute, List<StepStats> steps) {}
+
+    static final List<String> STEPS = List.of("search", "filter", "open-product", "add-to-cart", "guest-checkout",
+            "contact", "pickup", "payment");
+
+    private static final String PRODUCT = "JBL Quantum True Wireless Noise Cancelling Gaming";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final String baseUrl;
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> errors = new ConcurrentHashMap<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public LoadRunner(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int sessions = Integer.getInteger("load.sessions", 10);
+        double rampPerSecond = Double.parseDouble(System.getProperty("load.rampPerSecond", "2"));
+        int iterations = Integer.getInteger("load.iterations", 1);
+
+        // Must be set before BrowserPool and TestSession are first touched. The pool keeps its default size
+        // (one browser per core) and shoppers queue for a browser instead of launching extra ones; no video,
+        // trace, step log, locator ranking or flakiness history is written unless asked for
+        System.setProperty("pool.overflowAfterMs", System.getProperty("pool.overflowAfterMs", String.valueOf(TimeUnit.DAYS.toMillis(1))));
+        for (String property : List.of("video.mode", "trace.mode", "steplog.dir", "locator.cache", "flaky.history")) {
+            System.setProperty(property, System.getProperty(property, "off"));
+        }
+
+        Summary summary = new LoadRunner(BookstoreStub.baseUrl()).run(sessions, rampPerSecond, iterations);
+        System.out.print(table(summary));
+        Path out = Paths.get(System.getProperty("load.dir", "target/load"))
+                .resolve("load-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now()) + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, GSON.toJson(summary), StandardCharsets.UTF_8);
+        System.out.println("Summary: " + out);
+        System.exit(summary.failed() == 0 ? 0 : 1);
+    }
+
+    public Summary run(int sessions, double rampPerSecond, int iterations) throws InterruptedException {
+        long start = System.nanoTime();
+        long gapNanos = (long) (1_000_000_000L / Math.max(0.001, rampPerSecond));
+        try (ExecutorService shoppers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                int shopper = i;
+                long startAt = start + shopper * gapNanos;
+                shoppers.submit(() -> {
+                    sleepUntil(startAt);
+                    for (int n = 0; n < iterations; n++) shop("load-" + shopper + "." + n);
+                });
+            }
+            shoppers.shutdown();
+            shoppers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<StepStats> steps = new ArrayList<>();
+        for (String step : STEPS) steps.add(stats(step));
+        double perMinute = wallMillis == 0 ? 0 : completed.get() * 60_000.0 / wallMillis;
+        return new Summary(baseUrl, sessions, rampPerSecond, iterations, completed.get(), failed.get(), wallMillis,
+                perMinute, steps);
+    }
+
+    // One shopper, one fresh context; the first failing step ends the checkout
+    private void shop(String label) {
+        try (TestSession session = TestSession.open(label, RequestFilter.DEFAULT_RULES)) {
+            try {
+                WaitEngine waits = session.waits();
+                SearchResults results = new SearchResults(session.page(), waits);
+                timed("search", () -> {
+                    session.page().navigate(baseUrl);
+                    return results.search("earbuds");
+                });
+                timed("filter", () -> results.filterBrand("JBL").filter("Color", "Black").filter("Price", "Over $50"));
+                ProductDetail product = timed("open-product", () -> results.openProduct(PRODUCT));
+                Cart cart = timed("add-to-cart", () -> {
+                    Cart c = product.addToCart(1).openCart();
+                    c.waitUntilLoaded();
+                    c.choosePickup();
+                    return c;
+                });
+                CheckoutContact contact = timed("guest-checkout", () -> cart.checkoutAsGuest().waitUntilLoaded());
+                CheckoutPickup pickup = timed("contact", () -> contact
+                        .fill("Taylor", "Jordan", "taylor.jordan+test@depaul.edu", "312-555-1212")
+                        .continueToPickup()
+                        .waitUntilLoaded(30000));
+                CheckoutPayment payment = timed("pickup", () -> {
+                    pickup.summary().awaitTax(waits, 15000);
+                    return pickup.continueToPayment().waitUntilLoaded();
+                });
+                timed("payment", () -> payment.summary().awaitTax(waits, 18000));
+                completed.incrementAndGet();
+            } catch (RuntimeException | AssertionError e) {
+                session.markFailed();
+                failed.incrementAndGet();
+                session.log().note("shopper failed: " + e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            // No browser or context to be had: counts against the run like a failed checkout
+            failed.incrementAndGet();
+            System.err.println("[" + label + "] could not open a session: " + e.getMessage());
+        }
+    }
+
+    private <T> T timed(String step, Supplier<T> body) {
+        long start = System.nanoTime();
+        try {
+            T result = body.get();
+            latencies.computeIfAbsent(step, k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add((System.nanoTime() - start) / 1_000_000);
+            return result;
+        } catch (RuntimeException | AssertionError e) {
+            errors.computeIfAbsent(step, k -> new AtomicInteger()).incrementAndGet();
+            throw e;
+        }
+    }
+
+    private StepStats stats(String step) {
+        List<Long> sorted;
+        List<Long> samples = latencies.getOrDefault(step, List.of());
+        synchronized (samples) {
+            sorted = new ArrayList<>(samples);
+        }
+        Collections.sort(sorted);
+        int errorCount = errors.getOrDefault(step, new AtomicInteger()).get();
+        return new StepStats(step, sorted.size(), errorCount, percentile(sorted, 50), percentile(sorted, 90),
+                percentile(sorted, 95), percentile(sorted, 99), sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1));
+    }
+
+    // Nearest-rank percentile of an ascending list; 0 when there are no samples
+    static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    static String table(Summary s) {
+        StringBuilder sb = new StringBuilder(String.format("Load: %d shoppers x %d, ramp %.1f/s against %s%n",
+                s.sessions(), s.iterations(), s.rampPerSecond(), s.baseUrl()));
+        sb.append(String.format("  %-16s %7s %6s %8s %8s %8s %8s %8s%n", "step", "samples", "errors", "p50", "p90", "p95", "p99", "max"));
+        for (StepStats st : s.steps()) {
+            sb.append(String.format("  %-16s %7d %6d %6d ms %5d ms %5d ms %5d ms %5d ms%n", st.step(), st.samples(), st.errors(),
+                    st.p50(), st.p90(), st.p95(), st.p99(), st.max()));
+        }
+        sb.append(String.format("  %d completed, %d failed, wall %d ms, %.1f checkouts/min%n",
+                s.completed(), s.failed(), s.wallMillis(), s.checkoutsPerMinute()));
+        return sb.toString();
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long wait = nanoTime - System.nanoTime();
+        if (wait <= 0) return;
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
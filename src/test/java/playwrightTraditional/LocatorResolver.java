@@ -0,0 +1,204 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves a logical element ("filter Brand", "Proceed as Guest") through a chain of fallback selectors,
+ * declared from most to least specific. Lookups follow that order, except that a strategy which has
+ * missed -Dlocator.demoteAfter (default 3) lookups in a row on a loaded page is tried after the others
+ * until it matches again. One miss while the page is still rendering therefore never puts a broad
+ * fallback in front of the specific selector. Every -Dlocator.reprobeEvery-th (default 10) lookup of an
+ * element tries the declared order again, so a demoted strategy that works again gets its place back
+ * even while a broad fallback keeps matching. Each lookup costs one count() per strategy tried.
+ * Rankings are kept per page kind (first URL path segment) and element.
+ *
+ * Stored in -Dlocator.cache (default .cache/locators.json) and merged with other JVMs' results on flush.
+ */
+public final class LocatorResolver {
+
+    public record Strategy(String name, Function<Page, Locator> locate) {}
+
+    // The winning strategy and its match count; count is 0 when every strategy missed
+    public record Match(String strategy, Locator locator, int count) {
+
+        public boolean found() {
+            return count > 0;
+        }
+    }
+
+    static final class Ranking {
+        Map<String, Integer> hits = new LinkedHashMap<>();
+        Map<String, Integer> misses = new LinkedHashMap<>();
+        Map<String, Integer> missStreak = new LinkedHashMap<>(); // misses since the strategy last matched
+        int lookups;
+        long updatedAt;
+    }
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    // -Dlocator.cache=off keeps rankings in memory only, e.g. for load runs
+    private static final LocatorResolver SHARED = new LocatorResolver(
+            "off".equalsIgnoreCase(System.getProperty("locator.cache")) ? null
+                    : Paths.get(System.getProperty("locator.cache", ".cache/locators.json")));
+
+    public static LocatorResolver shared() {
+        return SHARED;
+    }
+
+    public static Strategy strategy(String name, Function<Page, Locator> locate) {
+        return new Strategy(name, locate);
+    }
+
+    private final Path file;
+    private final int demoteAfter;
+    private final int reprobeEvery;
+    private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
+
+    public LocatorResolver(Path file) {
+        this(file, Integer.getInteger("locator.demoteAfter", 3), Integer.getInteger("locator.reprobeEvery", 10));
+    }
+
+    public LocatorResolver(Path file, int demoteAfter, int reprobeEvery) {
+        this.file = file;
+        this.demoteAfter = Math.max(1, demoteAfter);
+        this.reprobeEvery = Math.max(1, reprobeEvery);
+        rankings.putAll(read());
+    }
+
+    public Match resolve(Page page, String element, Strategy... chain) {
+        String key = pageKind(page.url()) + " " + element;
+        Ranking ranking = rankings.computeIfAbsent(key, k -> new Ranking());
+        // count() does not wait; misses only say something about a page that has finished loading
+        page.waitForLoadState(LoadState.LOAD);
+
+        Map<String, Strategy> byName = new LinkedHashMap<>();
+        for (Strategy s : chain) byName.put(s.name(), s);
+        List<String> missed = new ArrayList<>();
+        for (String name : order(ranking, List.copyOf(byName.keySet()))) {
+            Strategy strategy = byName.get(name);
+            Locator locator = strategy.locate().apply(page);
+            int count = locator.count();
+            if (count > 0) {
+                update(ranking, name, missed);
+                return new Match(name, locator, count);
+            }
+            missed.add(name);
+        }
+        update(ranking, null, missed);
+        return new Match(chain[0].name(), chain[0].locate().apply(page), 0);
+    }
+
+    // Declared order, with strategies on a miss streak of demoteAfter or more moved behind the rest,
+    // except on every reprobeEvery-th lookup
+    List<String> order(Ranking ranking, List<String> declared) {
+        List<String> trusted = new ArrayList<>();
+        List<String> demoted = new ArrayList<>();
+        synchronized (ranking) {
+            if ((ranking.lookups + 1) % reprobeEvery == 0) return declared;
+            for (String name : declared) {
+                (ranking.missStreak.getOrDefault(name, 0) >= demoteAfter ? demoted : trusted).add(name);
+            }
+        }
+        trusted.addAll(demoted);
+        return trusted;
+    }
+
+    // The winner's streak resets; strategies tried before it (or all, when nothing matched) extend theirs
+    static void update(Ranking ranking, String winner, List<String> missed) {
+        synchronized (ranking) {
+            for (String name : missed) {
+                ranking.misses.merge(name, 1, Integer::sum);
+                ranking.missStreak.merge(name, 1, Integer::sum);
+            }
+            if (winner != null) {
+                ranking.hits.merge(winner, 1, Integer::sum);
+                ranking.missStreak.remove(winner);
+            }
+            ranking.lookups++;
+            ranking.updatedAt = System.currentTimeMillis();
+        }
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder("Locator rankings (" + rankings.size() + ")\n");
+        rankings.forEach((key, r) -> {
+            synchronized (r) {
+                sb.append(String.format("  %-40s hits %s misses %s in a row %s%n", key, r.hits, r.misses, r.missStreak));
+            }
+        });
+        return sb.toString();
+    }
+
+    // Newest ranking per key wins when several JVMs write the same file
+    public synchronized void flush() {
+        if (file == null) return;
+        Map<String, Ranking> merged = new LinkedHashMap<>(read());
+        rankings.forEach((key, r) -> merged.merge(key, copy(r), (a, b) -> a.updatedAt >= b.updatedAt ? a : b));
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "locators", ".tmp");
+            Files.writeString(tmp, GSON.toJson(merged), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Ranking copy(Ranking r) {
+        synchronized (r) {
+            Ranking c = new Ranking();
+            c.missStreak = new LinkedHashMap<>(r.missStreak);
+            c.hits = new LinkedHashMap<>(r.hits);
+            c.misses = new LinkedHashMap<>(r.misses);
+            c.lookups = r.lookups;
+            c.updatedAt = r.updatedAt;
+            return c;
+        }
+    }
+
+    private Map<String, Ranking> read() {
+        if (file == null || !Files.exists(file)) return Map.of();
+        try {
+            Map<String, Ranking> stored = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                    new TypeToken<Map<String, Ranking>>() {}.getType());
+            return stored == null ? Map.of() : stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "/checkout/contact?x=1" -> "checkout"; the home page is "home"
+    static String pageKind(String url) {
+        String path;
+        try {
+            path = URI.create(url).getPath();
+        } catch (IllegalArgumentException e) {
+            path = url;
+        }
+        if (path == null) return "home";
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) return segment;
+        }
+        return "home";
+    }
+}
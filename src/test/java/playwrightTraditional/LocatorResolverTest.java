@@ -0,0 +1,87 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Ranking rules without a page: the declared order holds until a strategy keeps missing
+class LocatorResolverTest {
+
+    private static final List<String> CHAIN = List.of("data-attr", "role", "text", "broad-div");
+
+    @TempDir
+    Path dir;
+
+    private LocatorResolver resolver() {
+        return new LocatorResolver(dir.resolve("locators.json"), 3, 10);
+    }
+
+    @Test
+    void declared_order_is_kept_when_nothing_is_known() {
+        assertEquals(CHAIN, resolver().order(new LocatorResolver.Ranking(), CHAIN));
+    }
+
+    @Test
+    void one_miss_while_rendering_does_not_promote_a_broad_fallback() {
+        LocatorResolver.Ranking ranking = new LocatorResolver.Ranking();
+        LocatorResolver.update(ranking, "broad-div", List.of("data-attr", "role", "text"));
+        assertEquals(CHAIN, resolver().order(ranking, CHAIN));
+    }
+
+    @Test
+    void a_strategy_is_demoted_after_consecutive_misses_and_restored_by_a_hit() {
+        LocatorResolver resolver = resolver();
+        LocatorResolver.Ranking ranking = new LocatorResolver.Ranking();
+        for (int i = 0; i < 3; i++) LocatorResolver.update(ranking, "role", List.of("data-attr"));
+        assertEquals(List.of("role", "text", "broad-div", "data-attr"), resolver.order(ranking, CHAIN));
+
+        LocatorResolver.update(ranking, "data-attr", List.of());
+        assertEquals(CHAIN, resolver.order(ranking, CHAIN));
+        assertEquals(4, ranking.hits.values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, ranking.misses.get("data-attr"));
+    }
+
+    @Test
+    void an_interrupted_streak_starts_over() {
+        LocatorResolver.Ranking ranking = new LocatorResolver.Ranking();
+        LocatorResolver.update(ranking, "role", List.of("data-attr"));
+        LocatorResolver.update(ranking, "role", List.of("data-attr"));
+        LocatorResolver.update(ranking, "data-attr", List.of());
+        LocatorResolver.update(ranking, "role", List.of("data-attr"));
+        assertEquals(CHAIN, resolver().order(ranking, CHAIN));
+    }
+
+    @Test
+    void demoted_strategies_keep_their_declared_order() {
+        LocatorResolver.Ranking ranking = new LocatorResolver.Ranking();
+        for (int i = 0; i < 3; i++) LocatorResolver.update(ranking, null, CHAIN);
+        assertEquals(CHAIN, resolver().order(ranking, CHAIN));
+    }
+
+    @Test
+    void a_demoted_strategy_is_tried_first_again_on_every_tenth_lookup() {
+        LocatorResolver resolver = resolver();
+        LocatorResolver.Ranking ranking = new LocatorResolver.Ranking();
+        for (int i = 0; i < 3; i++) LocatorResolver.update(ranking, "role", List.of("data-attr"));
+        List<String> demoted = List.of("role", "text", "broad-div", "data-attr");
+        // Another strategy keeps winning while data-attr is demoted, so its streak never changes
+        while (ranking.lookups < 9) {
+            assertEquals(demoted, resolver.order(ranking, CHAIN));
+            LocatorResolver.update(ranking, "role", List.of());
+        }
+        assertEquals(CHAIN, resolver.order(ranking, CHAIN));
+
+        LocatorResolver.update(ranking, "data-attr", List.of());
+        assertEquals(CHAIN, resolver.order(ranking, CHAIN));
+    }
+
+    @Test
+    void page_kind_is_the_first_path_segment() {
+        assertEquals("checkout", LocatorResolver.pageKind("http://localhost:1234/checkout/contact?x=1"));
+        assertEquals("home", LocatorResolver.pageKind("http://localhost:1234/"));
+    }
+}
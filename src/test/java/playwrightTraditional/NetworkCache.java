@@ -0,0 +1,309 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Record/replay cache for browser traffic, attached to a context through BrowserContext.route.
+ * Response bodies are stored once per SHA-256 under bodies/, and index.json maps each request
+ * (method, URL, post body) to its status, headers and body hash. The storefront's origin is stored as
+ * {storefront}, so recordings made against the stand-in on one random port replay on the next.
+ * Storefront pages and XHRs also show the shopper's cart (the header count, /cart, /checkout/*), so their
+ * keys include a hash of the session cookies named in -Dnetwork.sessionCookies (default: the stand-in's
+ * bn_cart and bn_contact); an empty and a full cart are different entries.
+ *
+ * Mode comes from -Dnetwork.mode: off (default), record, replay, or refresh (replay entries younger
+ * than -Dnetwork.maxAgeHours, re-record the rest).
+ */
+public final class NetworkCache {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY, REFRESH_IF_STALE;
+
+        static Mode parse(String value) {
+            return switch (value == null ? "off" : value.toLowerCase(Locale.ROOT)) {
+                case "record" -> RECORD;
+                case "replay" -> REPLAY;
+                case "refresh", "refresh-if-stale" -> REFRESH_IF_STALE;
+                default -> OFF;
+            };
+        }
+    }
+
+    static final class Entry {
+        int status;
+        Map<String, String> headers;
+        String body;
+        long storedAt;
+    }
+
+    // Per-test hit/miss counters
+    public static final class Session {
+        final AtomicInteger hits = new AtomicInteger();
+        final AtomicInteger misses = new AtomicInteger();
+        final AtomicInteger recorded = new AtomicInteger();
+        final AtomicLong bytesFromDisk = new AtomicLong();
+        private final Mode mode;
+
+        Session(Mode mode) {
+            this.mode = mode;
+        }
+
+        public int hits() {
+            return hits.get();
+        }
+
+        public int misses() {
+            return misses.get();
+        }
+
+        public String report() {
+            int total = hits() + misses();
+            long rate = total == 0 ? 0 : Math.round(100.0 * hits() / total);
+            return String.format("Network cache [%s]: %d hits, %d misses (%d%% hit rate), %d recorded, %.1f KB served from disk%n",
+                    mode.name().toLowerCase(Locale.ROOT), hits(), misses(), rate, recorded.get(),
+                    bytesFromDisk.get() / 1024.0);
+        }
+    }
+
+    // Headers that describe the original transfer rather than the stored body
+    private static final Set<String> SKIPPED_HEADERS = Set.of("content-length", "content-encoding", "transfer-encoding");
+    // Resource types whose body can depend on the session; images, scripts and styles are keyed by URL alone
+    private static final Set<String> SESSION_TYPES = Set.of("document", "xhr", "fetch");
+    private static final String STOREFRONT = "{storefront}";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final NetworkCache SHARED = sharedFromProperties();
+
+    private static NetworkCache sharedFromProperties() {
+        Mode mode = Mode.parse(System.getProperty("network.mode"));
+        return new NetworkCache(mode,
+                Paths.get(System.getProperty("network.cacheDir", ".cache/network")),
+                Duration.ofHours(Long.getLong("network.maxAgeHours", 24)),
+                mode == Mode.OFF ? null : origin(BookstoreStub.baseUrl()),
+                Arrays.stream(System.getProperty("network.sessionCookies", "bn_cart,bn_contact").split(","))
+                        .map(String::strip).filter(name -> !name.isEmpty()).collect(Collectors.toSet()));
+    }
+
+    public static NetworkCache shared() {
+        return SHARED;
+    }
+
+    private final Mode mode;
+    private final Path dir;
+    private final Duration maxAge;
+    private final String storefront; // e.g. "http://127.0.0.1:53117", or null to key on the full URL
+    private final Set<String> sessionCookies;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+    NetworkCache(Mode mode, Path dir, Duration maxAge, String storefront, Set<String> sessionCookies) {
+        this.mode = mode;
+        this.dir = dir;
+        this.maxAge = maxAge;
+        this.storefront = storefront;
+        this.sessionCookies = sessionCookies;
+        if (mode != Mode.OFF) index.putAll(readIndex());
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    // Routes every request of the context through the cache; returns null when the cache is off
+    public Session attach(BrowserContext context) {
+        if (mode == Mode.OFF) return null;
+        Session session = new Session(mode);
+        context.route("**/*", route -> handle(route, session));
+        return session;
+    }
+
+    // Stored body size for a URL, or -1 if this request was never recorded
+    public long knownSize(String method, String url) {
+        Entry entry = index.get(key(method, url, null, null));
+        if (entry == null) return -1;
+        try {
+            return Files.size(bodyPath(entry.body));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private void handle(Route route, Session session) {
+        Request request = route.request();
+        String cookies = SESSION_TYPES.contains(request.resourceType()) ? request.headerValue("cookie") : null;
+        String key = key(request.method(), request.url(), request.postDataBuffer(), cookies);
+        Entry entry = index.get(key);
+
+        boolean usable = entry != null && Files.exists(bodyPath(entry.body)) && switch (mode) {
+            case REPLAY -> true;
+            case REFRESH_IF_STALE -> System.currentTimeMillis() - entry.storedAt < maxAge.toMillis();
+            default -> false;
+        };
+        if (usable) {
+            byte[] body = readBody(entry.body);
+            session.hits.incrementAndGet();
+            session.bytesFromDisk.addAndGet(body.length);
+            Map<String, String> headers = new LinkedHashMap<>();
+            entry.headers.forEach((name, value) -> headers.put(name, absolute(value)));
+            route.fulfill(new Route.FulfillOptions()
+                    .setStatus(entry.status)
+                    .setHeaders(headers)
+                    .setBodyBytes(body));
+            return;
+        }
+
+        session.misses.incrementAndGet();
+        if (mode == Mode.REPLAY) {
+            route.resume(); // not recorded: go to the network but leave the cache untouched
+            return;
+        }
+        APIResponse response;
+        try {
+            response = route.fetch(new Route.FetchOptions().setMaxRedirects(0));
+        } catch (PlaywrightException e) {
+            route.abort(); // the page sees a network error, as it would have without the cache
+            return;
+        }
+        store(key, response);
+        session.recorded.incrementAndGet();
+        route.fulfill(new Route.FulfillOptions().setResponse(response));
+    }
+
+    private void store(String key, APIResponse response) {
+        byte[] body = response.body();
+        String hash = sha256(body);
+        Path path = bodyPath(hash);
+        try {
+            if (!Files.exists(path)) {
+                Files.createDirectories(path.getParent());
+                Path tmp = Files.createTempFile(path.getParent(), hash, ".tmp");
+                Files.write(tmp, body);
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Entry entry = new Entry();
+        entry.status = response.status();
+        entry.headers = new LinkedHashMap<>();
+        response.headers().forEach((name, value) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) entry.headers.put(name, relative(value));
+        });
+        entry.body = hash;
+        entry.storedAt = System.currentTimeMillis();
+        index.put(key, entry);
+    }
+
+    // Merges with whatever other JVMs wrote meanwhile, newest entry wins
+    public synchronized void flush() {
+        if (mode == Mode.OFF || mode == Mode.REPLAY) return;
+        Map<String, Entry> merged = new LinkedHashMap<>(readIndex());
+        index.forEach((key, entry) -> merged.merge(key, entry, (a, b) -> a.storedAt >= b.storedAt ? a : b));
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "index", ".tmp");
+            Files.writeString(tmp, GSON.toJson(merged), StandardCharsets.UTF_8);
+            Files.move(tmp, dir.resolve("index.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Entry> readIndex() {
+        Path file = dir.resolve("index.json");
+        if (!Files.exists(file)) return Map.of();
+        try {
+            Map<String, Entry> stored = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                    new TypeToken<Map<String, Entry>>() {}.getType());
+            return stored == null ? Map.of() : stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] readBody(String hash) {
+        try {
+            return Files.readAllBytes(bodyPath(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path bodyPath(String hash) {
+        return dir.resolve("bodies").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    String key(String method, String url, byte[] postData, String cookieHeader) {
+        String path = relative(url);
+        String key = method + " " + path;
+        if (postData != null && postData.length > 0) key += " #" + sha256(postData).substring(0, 16);
+        String session = path.startsWith(STOREFRONT) ? sessionState(cookieHeader) : "";
+        return session.isEmpty() ? key : key + " @" + sha256(session.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    // The session cookies out of a Cookie header, sorted by name: "bn_cart=...; bn_contact=..."
+    private String sessionState(String cookieHeader) {
+        if (cookieHeader == null || cookieHeader.isBlank()) return "";
+        Map<String, String> session = new TreeMap<>();
+        for (String pair : cookieHeader.split(";")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            String name = pair.substring(0, eq).strip();
+            if (sessionCookies.contains(name)) session.put(name, pair.substring(eq + 1).strip());
+        }
+        return session.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining("; "));
+    }
+
+    // Storefront origin <-> {storefront}; other origins (CDNs, analytics) stay as they are
+    String relative(String value) {
+        if (storefront == null || !value.startsWith(storefront)) return value;
+        String rest = value.substring(storefront.length());
+        // "http://127.0.0.1:5311" must not swallow the first digits of port 53117
+        return rest.isEmpty() || "/?#".indexOf(rest.charAt(0)) >= 0 ? STOREFRONT + rest : value;
+    }
+
+    String absolute(String value) {
+        return storefront == null || !value.startsWith(STOREFRONT) ? value : storefront + value.substring(STOREFRONT.length());
+    }
+
+    static String origin(String url) {
+        int slash = url.indexOf('/', url.indexOf("//") + 2);
+        return slash < 0 ? url : url.substring(0, slash);
+    }
+
+    static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Request keys across stand-in ports and shopper sessions; no browser involved
+class NetworkCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private NetworkCache on(String storefront) {
+        return new NetworkCache(NetworkCache.Mode.RECORD, dir, Duration.ofHours(1), storefront, Set.of("bn_cart", "bn_contact"));
+    }
+
+    @Test
+    void storefront_urls_key_the_same_on_any_port() {
+        String recorded = on("http://127.0.0.1:53117").key("GET", "http://127.0.0.1:53117/search?q=earbuds", null, null);
+        String replayed = on("http://127.0.0.1:40001").key("GET", "http://127.0.0.1:40001/search?q=earbuds", null, null);
+        assertEquals("GET {storefront}/search?q=earbuds", recorded);
+        assertEquals(recorded, replayed);
+    }
+
+    @Test
+    void other_origins_keep_their_full_url() {
+        NetworkCache cache = on("http://127.0.0.1:5311");
+        assertEquals("GET https://cdn.example.com/app.js", cache.key("GET", "https://cdn.example.com/app.js", null, null));
+        assertEquals("GET http://127.0.0.1:53117/", cache.key("GET", "http://127.0.0.1:53117/", null, null));
+    }
+
+    @Test
+    void post_bodies_are_part_of_the_key() {
+        NetworkCache cache = on("http://127.0.0.1:53117");
+        String a = cache.key("POST", "http://127.0.0.1:53117/cart", "sku=1".getBytes(StandardCharsets.UTF_8), null);
+        String b = cache.key("POST", "http://127.0.0.1:53117/cart", "sku=2".getBytes(StandardCharsets.UTF_8), null);
+        assertNotEquals(a, b);
+        assertTrue(a.startsWith("POST {storefront}/cart #"));
+    }
+
+    @Test
+    void storefront_pages_are_keyed_by_the_cart_and_contact_cookies() {
+        NetworkCache cache = on("http://127.0.0.1:53117");
+        String url = "http://127.0.0.1:53117/cart";
+        String empty = cache.key("GET", url, null, "_ga=GA1.1");
+        String full = cache.key("GET", url, null, "_ga=GA1.1; bn_cart=123:1");
+        assertEquals("GET {storefront}/cart", empty);
+        assertTrue(full.startsWith("GET {storefront}/cart @"));
+        assertNotEquals(full, cache.key("GET", url, null, "bn_cart=123:2"));
+        // Only the named cookies count, in any order
+        assertEquals(full, cache.key("GET", url, null, "bn_cart=123:1; _ga=GA1.2"));
+        assertEquals(cache.key("GET", url, null, "bn_cart=1; bn_contact=a"), cache.key("GET", url, null, "bn_contact=a; bn_cart=1"));
+    }
+
+    @Test
+    void other_origins_ignore_cookies() {
+        NetworkCache cache = on("http://127.0.0.1:53117");
+        assertEquals("GET https://cdn.example.com/app.js", cache.key("GET", "https://cdn.example.com/app.js", null, "bn_cart=1"));
+    }
+
+    @Test
+    void stored_headers_point_at_the_current_storefront() {
+        String stored = on("http://127.0.0.1:53117").relative("http://127.0.0.1:53117/checkout/pickup");
+        assertEquals("http://127.0.0.1:40001/checkout/pickup", on("http://127.0.0.1:40001").absolute(stored));
+    }
+}
@@ -0,0 +1,30 @@
+package playwrightTraditional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per-test (or per-class) request filter rules, read by BaseTest when it attaches {@link RequestFilter}.
+ * A method annotation replaces the class one. Allow rules win over block rules.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface NetworkRules {
+    // Playwright resource types: document, stylesheet, image, media, font, script, xhr, fetch, ...
+    String[] blockTypes() default {"image", "media", "font"};
+
+    // Host patterns; "doubleclick.net" also matches every subdomain
+    String[] blockHosts() default {
+            "google-analytics.com", "googletagmanager.com", "doubleclick.net", "googlesyndication.com",
+            "facebook.net", "facebook.com", "hotjar.com", "clarity.ms", "bing.com", "criteo.com",
+            "pinterest.com", "tiktok.com", "snapchat.com", "quantserve.com", "scorecardresearch.com",
+            "newrelic.com", "nr-data.net", "optimizely.com", "demdex.net", "omtrdc.net"};
+
+    String[] allowTypes() default {};
+
+    String[] allowHosts() default {};
+}
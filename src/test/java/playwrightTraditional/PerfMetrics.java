@@ -0,0 +1,258 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.LoadState;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Speed measurements per scenario step, checked against budgets. A measurement reads the current page:
+ * Navigation Timing (TTFB, DOMContentLoaded, load), the largest contentful paint, long tasks (count and
+ * blocking time over 50 ms each), resource count and transfer size from the page, plus JS heap and DOM
+ * node count over a CDP session (Chromium only).
+ *
+ * Budgets are "step.metric=max" lines in perf-budgets.properties on the test classpath (or
+ * -Dperf.budgets=file); "*.metric" applies to every step. Every measurement is appended as one JSON
+ * line to -Dperf.history (default .cache/perf-history.jsonl). With -Dperf.maxRegression=0.5 a metric
+ * also fails when it is 50% above its median over the last -Dperf.window (10) runs of the same step.
+ * -Dperf.mode=assert (default), record (measure and export only) or off.
+ */
+public final class PerfMetrics {
+
+    public enum Mode { OFF, RECORD, ASSERT }
+
+    public record Sample(String test, String step, String url, Map<String, Double> values, long at) {}
+
+    // Observers have to exist before the page's content paints, so they are installed on every document
+    private static final String OBSERVERS = """
+            (() => {
+              if (window.__perf) return;
+              const perf = window.__perf = { lcp: 0, longTasks: 0, blocking: 0 };
+              try {
+                new PerformanceObserver(list => { for (const e of list.getEntries()) perf.lcp = e.startTime; })
+                  .observe({ type: 'largest-contentful-paint', buffered: true });
+              } catch (e) {}
+              try {
+                new PerformanceObserver(list => {
+                  for (const e of list.getEntries()) { perf.longTasks++; perf.blocking += Math.max(0, e.duration - 50); }
+                }).observe({ type: 'longtask', buffered: true });
+              } catch (e) {}
+            })();
+            """;
+
+    private static final String SNAPSHOT = """
+            () => {
+              const nav = performance.getEntriesByType('navigation')[0] || {};
+              const resources = performance.getEntriesByType('resource');
+              const perf = window.__perf || { lcp: 0, longTasks: 0, blocking: 0 };
+              const bytes = resources.reduce((sum, r) => sum + (r.transferSize || 0), nav.transferSize || 0);
+              return {
+                url: location.href,
+                ttfbMs: nav.responseStart || 0,
+                domContentLoadedMs: nav.domContentLoadedEventEnd || 0,
+                loadMs: nav.loadEventEnd || 0,
+                lcpMs: perf.lcp,
+                longTasks: perf.longTasks,
+                blockingMs: perf.blocking,
+                requests: resources.length + 1,
+                transferKB: bytes / 1024
+              };
+            }
+            """;
+
+    private static final Gson GSON = new Gson();
+    private static final PerfMetrics SHARED = new PerfMetrics(
+            switch (System.getProperty("perf.mode", "assert").toLowerCase(Locale.ROOT)) {
+                case "off" -> Mode.OFF;
+                case "record" -> Mode.RECORD;
+                default -> Mode.ASSERT;
+            },
+            loadBudgets(System.getProperty("perf.budgets")),
+            Paths.get(System.getProperty("perf.history", ".cache/perf-history.jsonl")),
+            Double.parseDouble(System.getProperty("perf.maxRegression", "0")),
+            Integer.getInteger("perf.window", 10));
+
+    public static PerfMetrics shared() {
+        return SHARED;
+    }
+
+    private final Mode mode;
+    private final Properties budgets;
+    private final Path history;
+    private final double maxRegression;
+    private final int window;
+    private Map<String, List<Sample>> past;
+
+    public PerfMetrics(Mode mode, Properties budgets, Path history, double maxRegression, int window) {
+        this.mode = mode;
+        this.budgets = budgets;
+        this.history = history;
+        this.maxRegression = maxRegression;
+        this.window = window;
+    }
+
+    public boolean enabled() {
+        return mode != Mode.OFF;
+    }
+
+    public void attach(BrowserContext context) {
+        if (enabled()) context.addInitScript(OBSERVERS);
+    }
+
+    // Measures the page a step has arrived at, exports the sample and fails the step if it is over budget
+    public Sample measure(Page page, String test, String step) {
+        if (!enabled()) return null;
+        Sample sample = collect(page, test, step);
+        List<String> problems = check(sample);
+        append(sample);
+        StepLog.of(page).note("perf " + step, format(sample.values()) + (problems.isEmpty() ? "" : "; over: " + problems));
+        if (mode == Mode.ASSERT && !problems.isEmpty()) {
+            fail("Performance budget exceeded at " + step + " (" + sample.url() + "): " + String.join(", ", problems));
+        }
+        return sample;
+    }
+
+    Sample collect(Page page, String test, String step) {
+        page.waitForLoadState(LoadState.LOAD);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> raw = (Map<String, Object>) page.evaluate(SNAPSHOT);
+        Map<String, Double> values = new LinkedHashMap<>();
+        raw.forEach((k, v) -> {
+            if (v instanceof Number n) values.put(k, round(n.doubleValue()));
+        });
+        values.putAll(cdpMetrics(page));
+        return new Sample(test, step, String.valueOf(raw.get("url")), values, System.currentTimeMillis());
+    }
+
+    // Heap and DOM size as the renderer reports them; other engines have no CDP and skip these
+    private static Map<String, Double> cdpMetrics(Page page) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        CDPSession cdp;
+        try {
+            cdp = page.context().newCDPSession(page);
+        } catch (PlaywrightException e) {
+            return values;
+        }
+        try {
+            cdp.send("Performance.enable");
+            JsonArray metrics = cdp.send("Performance.getMetrics").getAsJsonArray("metrics");
+            for (var element : metrics) {
+                JsonObject metric = element.getAsJsonObject();
+                double value = metric.get("value").getAsDouble();
+                switch (metric.get("name").getAsString()) {
+                    case "JSHeapUsedSize" -> values.put("jsHeapMB", round(value / (1024 * 1024)));
+                    case "Nodes" -> values.put("domNodes", value);
+                    default -> { }
+                }
+            }
+        } finally {
+            cdp.detach();
+        }
+        return values;
+    }
+
+    // Budget violations, then (if enabled) regressions against the recent median
+    List<String> check(Sample sample) {
+        List<String> problems = new ArrayList<>();
+        sample.values().forEach((metric, value) -> {
+            String budget = budgets.getProperty(sample.step() + "." + metric, budgets.getProperty("*." + metric));
+            if (budget != null && value > Double.parseDouble(budget)) {
+                problems.add(metric + " " + format(value) + " > " + budget);
+            }
+            if (maxRegression > 0) {
+                double median = median(sample.test(), sample.step(), metric);
+                if (median > 0 && value > median * (1 + maxRegression)) {
+                    problems.add(metric + " " + format(value) + " is " + Math.round((value / median - 1) * 100)
+                            + "% above its recent median " + format(median));
+                }
+            }
+        });
+        return problems;
+    }
+
+    private synchronized double median(String test, String step, String metric) {
+        if (past == null) past = readHistory();
+        List<Double> values = new ArrayList<>();
+        List<Sample> samples = past.getOrDefault(test + "/" + step, List.of());
+        for (int i = Math.max(0, samples.size() - window); i < samples.size(); i++) {
+            Double v = samples.get(i).values().get(metric);
+            if (v != null) values.add(v);
+        }
+        if (values.isEmpty()) return 0;
+        values.sort(Double::compare);
+        return values.get(values.size() / 2);
+    }
+
+    private Map<String, List<Sample>> readHistory() {
+        Map<String, List<Sample>> byStep = new HashMap<>();
+        if (!Files.exists(history)) return byStep;
+        try {
+            for (String line : Files.readAllLines(history, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                Sample s = GSON.fromJson(line, Sample.class);
+                byStep.computeIfAbsent(s.test() + "/" + s.step(), k -> new ArrayList<>()).add(s);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not read " + history + ": " + e.getMessage());
+        }
+        return byStep;
+    }
+
+    // One line per sample, so the file reads as a time series and concurrent JVMs only ever append
+    private synchronized void append(Sample sample) {
+        try {
+            if (history.getParent() != null) Files.createDirectories(history.getParent());
+            Files.writeString(history, GSON.toJson(sample) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Properties loadBudgets(String file) {
+        Properties budgets = new Properties();
+        try (InputStream in = file != null ? Files.newInputStream(Paths.get(file))
+                : PerfMetrics.class.getResourceAsStream("/perf-budgets.properties")) {
+            if (in != null) budgets.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return budgets;
+    }
+
+    private static String format(Map<String, Double> values) {
+        StringBuilder sb = new StringBuilder();
+        values.forEach((k, v) -> sb.append(sb.isEmpty() ? "" : ", ").append(k).append('=').append(format(v)));
+        return sb.toString();
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,72 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+import com.microsoft.playwright.options.LoadState;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Product page: title, SKU, price, description and Add to Cart
+public final class ProductDetail {
+
+    // sku is null when the page shows no "SKU" label; text is the whole visible page
+    public record State(String title, String sku, String price, String text) {}
+
+    private static final String STATE_FN = """
+            () => {
+              const text = document.body.innerText;
+              const h1 = document.querySelector('h1');
+              const sku = text.match(/SKU:?\\s*([\\w-]+)/);
+              const price = text.match(/\\$\\d+\\.\\d{2}/);
+              return { title: h1 ? h1.innerText.trim() : '', sku: sku ? sku[1] : null,
+                       price: price ? price[0] : null, text };
+            }""";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final Locator titles;
+    private final Locator addToCart;
+    private final Locator cartLink;
+
+    public ProductDetail(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.titles = page.locator("h1");
+        this.addToCart = page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add to Cart").setExact(false)).first();
+        this.cartLink = page.locator("a:has-text('Cart')").first();
+    }
+
+    public ProductDetail waitForTitle(String name) {
+        waits.forVisible(titles.filter(SearchResults.hasText(name)).first(), "product title");
+        return this;
+    }
+
+    // Adds the item and waits until the header reads "Cart | n items"
+    public ProductDetail addToCart(int expectedCount) {
+        assertTrue(addToCart.count() > 0, "Add to Cart button not found");
+        addToCart.click();
+
+        // Scroll to top to ensure the Cart icon is visible
+        page.evaluate("window.scrollTo(0, 0)");
+        waits.forCartCount(expectedCount);
+        return this;
+    }
+
+    public Cart openCart() {
+        assertTrue(cartLink.isVisible(), "Cart link is not visible after adding item.");
+        cartLink.scrollIntoViewIfNeeded();
+        cartLink.click();
+
+        page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+        page.waitForLoadState(LoadState.NETWORKIDLE);
+        return new Cart(page, waits);
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State((String) m.get("title"), (String) m.get("sku"), (String) m.get("price"), (String) m.get("text"));
+    }
+}
@@ -0,0 +1,179 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Aborts requests no assertion needs (images, fonts, analytics and ad beacons), so pages reach
+ * load/network-idle sooner. Requests that pass are handed on with route.fallback(), which lets
+ * {@link NetworkCache} (registered earlier) serve them.
+ * Turn it off with -Dnetwork.filter=off.
+ *
+ * The bytes saved are estimated per blocked URL: the body size the network cache recorded, otherwise the
+ * Content-Length of a HEAD request sent in the background (once per URL and JVM, never in replay mode).
+ */
+public final class RequestFilter {
+
+    @NetworkRules
+    private static final class Defaults {}
+
+    public static final NetworkRules DEFAULT_RULES = Defaults.class.getAnnotation(NetworkRules.class);
+
+    private static final Duration HEAD_TIMEOUT = Duration.ofSeconds(2);
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .connectTimeout(HEAD_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+    // Estimated size per blocked URL, -1 when unknown; shared so each URL is asked about once
+    private static final Map<String, CompletableFuture<Long>> SIZES = new ConcurrentHashMap<>();
+
+    private final Set<String> blockTypes;
+    private final Set<String> blockHosts;
+    private final Set<String> allowTypes;
+    private final Set<String> allowHosts;
+
+    private final AtomicInteger allowed = new AtomicInteger();
+    private final Map<String, Integer> blockedByType = new TreeMap<>();
+    private final List<CompletableFuture<Long>> blockedSizes = new ArrayList<>();
+
+    public RequestFilter(NetworkRules rules) {
+        this.blockTypes = lower(rules.blockTypes());
+        this.blockHosts = lower(rules.blockHosts());
+        this.allowTypes = lower(rules.allowTypes());
+        this.allowHosts = lower(rules.allowHosts());
+    }
+
+    public static boolean enabled() {
+        return !"off".equalsIgnoreCase(System.getProperty("network.filter", "on"));
+    }
+
+    public RequestFilter attach(BrowserContext context) {
+        context.route("**/*", this::handle);
+        return this;
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        if (!shouldBlock(request.resourceType(), host(request.url()))) {
+            allowed.incrementAndGet();
+            route.fallback();
+            return;
+        }
+        route.abort("blockedbyclient");
+        CompletableFuture<Long> size = estimateSize(request.method(), request.url());
+        synchronized (blockedByType) {
+            blockedByType.merge(request.resourceType(), 1, Integer::sum);
+            blockedSizes.add(size);
+        }
+    }
+
+    // Recorded body size if the cache has one, else the server's Content-Length; the page never waits for it
+    static CompletableFuture<Long> estimateSize(String method, String url) {
+        return SIZES.computeIfAbsent(url, u -> {
+            long recorded = NetworkCache.shared().knownSize(method, u);
+            if (recorded >= 0) return CompletableFuture.completedFuture(recorded);
+            if (NetworkCache.shared().mode() == NetworkCache.Mode.REPLAY || !u.startsWith("http")) {
+                return CompletableFuture.completedFuture(-1L);
+            }
+            HttpRequest head;
+            try {
+                head = HttpRequest.newBuilder(URI.create(u))
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .timeout(HEAD_TIMEOUT)
+                        .build();
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.completedFuture(-1L);
+            }
+            return HTTP.sendAsync(head, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(r -> r.statusCode() < 400 ? r.headers().firstValueAsLong("content-length").orElse(-1) : -1L)
+                    .exceptionally(e -> -1L);
+        });
+    }
+
+    boolean shouldBlock(String resourceType, String host) {
+        String type = resourceType.toLowerCase(Locale.ROOT);
+        if (allowTypes.contains(type) || matchesHost(allowHosts, host)) return false;
+        return blockTypes.contains(type) || matchesHost(blockHosts, host);
+    }
+
+    public int blocked() {
+        synchronized (blockedByType) {
+            return blockedByType.values().stream().mapToInt(Integer::intValue).sum();
+        }
+    }
+
+    public String report() {
+        String byType;
+        List<CompletableFuture<Long>> sizes;
+        synchronized (blockedByType) {
+            byType = blockedByType.entrySet().stream()
+                    .map(e -> e.getKey() + " " + e.getValue())
+                    .collect(Collectors.joining(", "));
+            sizes = List.copyOf(blockedSizes);
+        }
+        // HEAD requests time out on their own; this only bounds the wait if many are still in flight
+        try {
+            CompletableFuture.allOf(sizes.toArray(CompletableFuture[]::new)).get(HEAD_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // report what is known so far
+        }
+        long bytes = 0;
+        int sized = 0;
+        for (CompletableFuture<Long> size : sizes) {
+            long known = size.getNow(-1L);
+            if (known < 0) continue;
+            bytes += known;
+            sized++;
+        }
+        int blocked = blocked();
+        String saved = sized == 0 ? "no sizes known"
+                : String.format(Locale.ROOT, "about %.1f KB saved on the %d with a known size", bytes / 1024.0, sized);
+        return String.format(Locale.ROOT, "Request filter: blocked %d of %d requests%s, %s%s%n",
+                blocked, blocked + allowed.get(), byType.isEmpty() ? "" : " (" + byType + ")", saved,
+                blocked > sized ? ", " + (blocked - sized) + " of unknown size" : "");
+    }
+
+    private static boolean matchesHost(Set<String> patterns, String host) {
+        for (String pattern : patterns) {
+            String p = pattern.startsWith("*.") ? pattern.substring(2) : pattern;
+            if (host.equals(p) || host.endsWith("." + p)) return true;
+        }
+        return false;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host.toLowerCase(Locale.ROOT);
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static Set<String> lower(String[] values) {
+        return Arrays.stream(values).map(v -> v.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,351 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A user flow described as named steps, each declaring the step it starts after.
+ *
+ * Steps in a chain run one after another on the same page. When a step has several followers,
+ * the one with the longest chain behind it continues on that page, and every other follower forks:
+ * it gets its own context (from {@link BrowserPool}) restored to the cookies, storage and URL the
+ * shared step ended on, and runs at the same time. A failed step skips only the steps after it,
+ * so wall time is set by the longest branch and one failure no longer hides unrelated checks.
+ *
+ * A fork copies the cookies, not the server-side state behind them. The stand-in keeps the cart in a
+ * cookie, so each fork has its own; the live storefront keeps it in a server session, which every fork of
+ * that step then shares. Steps that change the cart or checkout (promo codes, quantities, removal) are
+ * only safe to fork on the live site if nothing running beside them reads what they change.
+ *
+ * A flaky failure replays the steps since the nearest checkpoint; during a replay the steps' checkpoints,
+ * speed measurements and visual checkpoints are skipped, as they already ran on the first attempt.
+ */
+public final class Scenario {
+
+    @FunctionalInterface
+    public interface StepBody {
+        void run(StepContext step) throws Exception;
+    }
+
+    public enum Status { PASSED, FAILED, SKIPPED }
+
+    // attempts > 1 means the step failed in a way FlakinessTracker considers flaky and was retried
+    public record StepResult(String name, String branch, Status status, long millis, Throwable error, int attempts) {}
+
+    // What a step body can use: the branch's page and helpers
+    public static final class StepContext {
+        private final TestSession session;
+        private final String baseUrl;
+        private final String scenario;
+        private boolean replaying;
+
+        StepContext(TestSession session, String baseUrl, String scenario) {
+            this.session = session;
+            this.baseUrl = baseUrl;
+            this.scenario = scenario;
+        }
+
+        public Page page() {
+            return session.page();
+        }
+
+        public BrowserContext context() {
+            return session.context();
+        }
+
+        public WaitEngine waits() {
+            return session.waits();
+        }
+
+        public String baseUrl() {
+            return baseUrl;
+        }
+
+        public TestSession session() {
+            return session;
+        }
+
+        public StepLog log() {
+            return session.log();
+        }
+
+        public void checkpoint(String name) {
+            if (replaying) return;
+            Checkpoints.shared().save(name, context(), page(), baseUrl);
+        }
+
+        // Compares a full-page screenshot with its stored baseline and fails the step on a mismatch
+        public void visualCheckpoint(String name, String... extraMasks) {
+            if (replaying) return;
+            VisualCheckpoint.shared().check(page(), name, extraMasks).assertMatches();
+        }
+
+        // Records load and rendering metrics for the current page and fails the step if one is over its budget
+        public void measure(String name) {
+            if (replaying) return;
+            PerfMetrics.shared().measure(page(), scenario, name);
+        }
+    }
+
+    private record Step(String name, String after, StepBody body) {}
+
+    private final String name;
+    private final String baseUrl;
+    private final Function<String, TestSession> sessions;
+    private final TestSession rootSession;
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+    private final Map<String, StepResult> results = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final FlakinessTracker flakiness = FlakinessTracker.shared();
+    private final int maxRetries = Integer.getInteger("flaky.retries", 1);
+    private ExecutorService executor;
+    private volatile Report report;
+
+    // rootSession (may be null) runs the first branch; other branches open their own through sessions
+    public Scenario(String name, String baseUrl, Function<String, TestSession> sessions, TestSession rootSession) {
+        this.name = name;
+        this.baseUrl = baseUrl;
+        this.sessions = sessions;
+        this.rootSession = rootSession;
+    }
+
+    public Scenario step(String stepName, StepBody body) {
+        return step(stepName, null, body);
+    }
+
+    public Scenario step(String stepName, String after, StepBody body) {
+        if (steps.containsKey(stepName)) throw new IllegalArgumentException("Duplicate step: " + stepName);
+        if (after != null && !steps.containsKey(after)) {
+            throw new IllegalArgumentException("Step '" + stepName + "' runs after unknown step '" + after + "'");
+        }
+        steps.put(stepName, new Step(stepName, after, body));
+        return this;
+    }
+
+    public Report run() {
+        long start = System.nanoTime();
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name + "-branch");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Step> roots = followers(null);
+            List<CompletableFuture<Void>> all = new ArrayList<>();
+            for (int i = 0; i < roots.size(); i++) {
+                Step root = roots.get(i);
+                if (i == 0 && rootSession != null) {
+                    List<CompletableFuture<Void>> forks = runBranch(root, null, rootSession);
+                    all.add(CompletableFuture.allOf(forks.toArray(new CompletableFuture<?>[0])));
+                } else {
+                    all.add(fork(root, null));
+                }
+            }
+            CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+        List<StepResult> ordered = steps.keySet().stream().map(results::get).collect(Collectors.toList());
+        report = new Report(name, ordered, (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    // The last run's report, or null before run(); BrowserMatrix merges these across engines
+    Report report() {
+        return report;
+    }
+
+    private CompletableFuture<Void> fork(Step first, Checkpoints.Checkpoint from) {
+        return CompletableFuture
+                .supplyAsync(() -> runBranch(first, from, null), executor)
+                .thenCompose(forks -> CompletableFuture.allOf(forks.toArray(new CompletableFuture<?>[0])));
+    }
+
+    // Runs a chain of steps on one page. Returns the forks it started, without waiting for them,
+    // so this branch's browser goes back to the pool before they need one.
+    private List<CompletableFuture<Void>> runBranch(Step first, Checkpoints.Checkpoint from, TestSession given) {
+        List<CompletableFuture<Void>> forks = new ArrayList<>();
+        TestSession session = given;
+        try {
+            if (session == null) session = sessions.apply(name + "." + first.name());
+            if (from != null) Checkpoints.apply(from, session.context(), session.page(), baseUrl);
+        } catch (RuntimeException e) {
+            record(first, session, Status.FAILED, 0, e, 1);
+            skipAfter(first);
+            if (session != null && session != given) session.close();
+            return forks;
+        }
+
+        StepContext ctx = new StepContext(session, baseUrl, name);
+        boolean branchFailed = false;
+        Step step = first;
+        // Nearest checkpoint (branch start or last fork point) and the steps run since, for retries
+        Checkpoints.Checkpoint nearest = from;
+        List<Step> sinceNearest = new ArrayList<>();
+        try {
+            while (step != null) {
+                if (!executeWithRetries(step, ctx, nearest, sinceNearest)) {
+                    branchFailed = true;
+                    skipAfter(step);
+                    break;
+                }
+                List<Step> next = followers(step.name());
+                if (next.isEmpty()) break;
+                sinceNearest.add(step);
+                Step continuation = next.stream().max((a, b) -> Integer.compare(depth(a), depth(b))).orElseThrow();
+                if (next.size() > 1) {
+                    Checkpoints.Checkpoint snapshot = Checkpoints.capture(step.name(), session.context(), session.page(), baseUrl);
+                    for (Step other : next) {
+                        if (other != continuation) forks.add(fork(other, snapshot));
+                    }
+                    nearest = snapshot;
+                    sinceNearest.clear();
+                }
+                step = continuation;
+            }
+        } finally {
+            if (branchFailed) session.markFailed();
+            if (session != given) session.close();
+        }
+        return forks;
+    }
+
+    // A flaky failure is retried by restoring the nearest checkpoint and replaying the steps since it;
+    // a deterministic one fails the branch straight away
+    private boolean executeWithRetries(Step step, StepContext ctx, Checkpoints.Checkpoint nearest, List<Step> since) {
+        String key = name + "/" + step.name();
+        for (int attempt = 1; ; attempt++) {
+            boolean passed = execute(step, ctx, attempt);
+            Throwable error = results.get(step.name()).error();
+            // Classified against the history as it was before this attempt
+            FlakinessTracker.Kind kind = passed ? null : flakiness.classify(key, error);
+            flakiness.record(key, passed, error);
+            if (passed) return true;
+            if (attempt > maxRetries || kind != FlakinessTracker.Kind.FLAKY) return false;
+            ctx.log().note(step.name(), "flaky failure, retrying from " + (nearest == null ? "the start" : nearest.name())
+                    + " (" + since.size() + " step(s) to replay): " + error.getMessage());
+            if (!replay(ctx, nearest, since)) return false;
+        }
+    }
+
+    private boolean replay(StepContext ctx, Checkpoints.Checkpoint nearest, List<Step> since) {
+        try {
+            ctx.context().clearCookies();
+            if (nearest != null) Checkpoints.apply(nearest, ctx.context(), ctx.page(), baseUrl);
+            else ctx.page().navigate("about:blank");
+            ctx.replaying = true;
+            for (Step s : since) s.body().run(ctx);
+            return true;
+        } catch (Throwable t) {
+            ctx.log().note("replay failed: " + t.getMessage());
+            return false;
+        } finally {
+            ctx.replaying = false;
+        }
+    }
+
+    private boolean execute(Step step, StepContext ctx, int attempt) {
+        long start = System.nanoTime();
+        ctx.log().stepStarted(step.name());
+        try {
+            step.body().run(ctx);
+            record(step, ctx.session(), Status.PASSED, start, null, attempt);
+            return true;
+        } catch (Throwable t) {
+            record(step, ctx.session(), Status.FAILED, start, t, attempt);
+            return false;
+        } finally {
+            StepResult result = results.get(step.name());
+            ctx.log().stepFinished(step.name(), result.millis(), result.status().name(), result.error());
+        }
+    }
+
+    private void record(Step step, TestSession session, Status status, long startNanos, Throwable error, int attempts) {
+        long millis = startNanos == 0 ? 0 : (System.nanoTime() - startNanos) / 1_000_000;
+        String branch = session == null ? "-" : session.label();
+        results.put(step.name(), new StepResult(step.name(), branch, status, millis, error, attempts));
+    }
+
+    private void skipAfter(Step step) {
+        for (Step next : followers(step.name())) {
+            results.put(next.name(), new StepResult(next.name(), "-", Status.SKIPPED, 0, null, 0));
+            skipAfter(next);
+        }
+    }
+
+    private List<Step> followers(String stepName) {
+        List<Step> out = new ArrayList<>();
+        for (Step s : steps.values()) {
+            if (stepName == null ? s.after() == null : stepName.equals(s.after())) out.add(s);
+        }
+        return out;
+    }
+
+    // Length of the longest chain starting at this step
+    private int depth(Step step) {
+        int deepest = 0;
+        for (Step next : followers(step.name())) deepest = Math.max(deepest, depth(next));
+        return deepest + 1;
+    }
+
+    public static final class Report {
+        private final String scenario;
+        private final List<StepResult> results;
+        private final long wallMillis;
+
+        Report(String scenario, List<StepResult> results, long wallMillis) {
+            this.scenario = scenario;
+            this.results = results;
+            this.wallMillis = wallMillis;
+        }
+
+        public List<StepResult> results() {
+            return results;
+        }
+
+        public long wallMillis() {
+            return wallMillis;
+        }
+
+        public List<StepResult> failures() {
+            return results.stream().filter(r -> r.status() == Status.FAILED).collect(Collectors.toList());
+        }
+
+        public String table() {
+            StringBuilder sb = new StringBuilder("Scenario " + scenario + "\n");
+            for (StepResult r : results) {
+                String flaky = String.format(Locale.ROOT, "%.2f", FlakinessTracker.shared().score(scenario + "/" + r.name()));
+                sb.append(String.format("  %-7s %7d ms  %-28s %s  attempts %d, flakiness %s%s%n", r.status(), r.millis(), r.name(),
+                        r.branch(), r.attempts(), flaky, r.error() == null ? "" : "  !! " + firstLine(r.error())));
+            }
+            long stepTotal = results.stream().mapToLong(StepResult::millis).sum();
+            sb.append(String.format("  wall %d ms, sum of steps %d ms%n", wallMillis, stepTotal));
+            return sb.toString();
+        }
+
+        // Fails with every failed step listed; the first failure is attached as the cause
+        public void assertAllPassed() {
+            List<StepResult> failed = failures();
+            if (failed.isEmpty()) return;
+            String summary = failed.stream().map(r -> r.name() + ": " + firstLine(r.error()))
+                    .collect(Collectors.joining("\n  ", failed.size() + " step(s) failed in " + scenario + ":\n  ", ""));
+            throw new AssertionError(summary, failed.get(0).error());
+        }
+
+        private static String firstLine(Throwable t) {
+            String msg = t.getMessage() == null ? t.getClass().getSimpleName() : t.getMessage();
+            return msg.lines().findFirst().orElse("");
+        }
+    }
+}
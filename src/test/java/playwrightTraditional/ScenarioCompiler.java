@@ -0,0 +1,517 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.LoadState;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Turns a scenario written as plain sentences (src/test/resources/scenarios/*.scenario, one step per line)
+ * into Playwright steps with concrete selectors, without a browser or the internet.
+ *
+ * Compiling walks the scenario over HTTP against the local stand-in, so every step sees the fixture page
+ * it will run on. Each target element is found there, and a selector is derived for it (id, data or form
+ * attributes, then visible text) that jsoup confirms picks that element. The result is cached in
+ * -Dscenario.cacheDir (default .cache/scenarios) under a hash of the scenario and the fixture pages;
+ * later runs load it and resolve nothing.
+ *
+ * Steps that sleep for a fixed time or scan the whole page's HTML still compile but are reported as
+ * findings. The same check runs on Java sources: waitForTimeout, Thread.sleep and page.content() scans.
+ *
+ * mvn -Pscenarios test-compile exec:java -Dexec.args="src/test/resources/scenarios/earbuds-to-guest-checkout.scenario src/test/java/playwrightLLM/BookstoreLLMTest.java"
+ */
+public final class ScenarioCompiler {
+
+    public enum Kind { NAVIGATE, SEARCH, FILTER, CLICK, FILL, EXPECT, SLEEP, PAGE_CONTAINS }
+
+    // toggle: the facet header a FILTER opens first; awaitPath: a request a CLICK fires without navigating
+    public record CompiledStep(int line, String text, Kind kind, String selector, String toggle, String value,
+                               boolean navigates, String awaitPath) {}
+
+    public record Finding(String source, int line, String kind, String text) {
+        @Override
+        public String toString() {
+            return source + ":" + line + ": " + kind + ": " + text;
+        }
+    }
+
+    public record Compiled(String name, String hash, List<CompiledStep> steps, List<Finding> findings, boolean fromCache,
+                           long millis) {
+
+        // Appends the steps to a scenario as one chain, each step after the previous one
+        public Scenario addTo(Scenario scenario) {
+            String previous = null;
+            for (CompiledStep step : steps) {
+                String stepName = String.format(Locale.ROOT, "%02d-%s", step.line(), step.kind().name().toLowerCase(Locale.ROOT));
+                if (previous == null) scenario.step(stepName, ctx -> run(step, ctx));
+                else scenario.step(stepName, previous, ctx -> run(step, ctx));
+                previous = stepName;
+            }
+            return scenario;
+        }
+
+        public String table() {
+            StringBuilder sb = new StringBuilder("Scenario file " + name + (fromCache ? " (cached" : " (compiled")
+                    + ", " + millis + " ms)\n");
+            for (CompiledStep s : steps) {
+                sb.append(String.format("  %3d  %-13s %-50s %s%n", s.line(), s.kind(), s.selector() == null ? "" : s.selector(), s.text()));
+            }
+            for (Finding f : findings) sb.append("  !! ").append(f).append('\n');
+            return sb.toString();
+        }
+    }
+
+    private record Cached(int format, String hash, List<CompiledStep> steps, List<Finding> findings) {}
+
+    private static final int FORMAT = 1;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final Pattern HOME = Pattern.compile("(?i)(?:open|go to) the home ?page");
+    private static final Pattern SEARCH = Pattern.compile("(?i)search for \"(.+)\"");
+    private static final Pattern FILTER = Pattern.compile("(?i)filter by (.+?) \"(.+)\"");
+    private static final Pattern OPEN_PRODUCT = Pattern.compile("(?i)open (?:the )?product \"(.+)\"");
+    private static final Pattern CART = Pattern.compile("(?i)go to the cart");
+    private static final Pattern CLICK = Pattern.compile("(?i)click (?:the )?\"(.+)\"(?: button| link)?");
+    private static final Pattern FILL = Pattern.compile("(?i)fill (?:in )?\"(.+)\" with \"(.*)\"");
+    private static final Pattern PAGE_CONTAINS = Pattern.compile("(?i)expect the page to contain \"(.+)\"");
+    private static final Pattern EXPECT = Pattern.compile("(?i)expect \"(.+)\"");
+    private static final Pattern SLEEP = Pattern.compile("(?i)wait (\\d+(?:\\.\\d+)?) seconds?");
+    private static final String GRAMMAR = "open the home page | search for \"q\" | filter by Facet \"option\" | "
+            + "open product \"name\" | go to the cart | click \"text\" | fill \"label\" with \"value\" | "
+            + "expect \"text\" | expect the page to contain \"text\" | wait N seconds";
+
+    // Java patterns that stand in for a real wait or a targeted assertion
+    private static final Map<String, Pattern> JAVA_SMELLS = Map.of(
+            "fixed-sleep", Pattern.compile("\\bwaitForTimeout\\s*\\(|\\bThread\\.sleep\\s*\\("),
+            "page-content-scan", Pattern.compile("\\.content\\(\\)"));
+
+    private static final ScenarioCompiler SHARED = new ScenarioCompiler(
+            Paths.get(System.getProperty("scenario.cacheDir", ".cache/scenarios")));
+
+    public static ScenarioCompiler shared() {
+        return SHARED;
+    }
+
+    private final Path cacheDir;
+
+    public ScenarioCompiler(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean strict = Boolean.getBoolean("scenario.strict");
+        int findings = 0;
+        try {
+            for (String arg : args) {
+                Path file = Paths.get(arg);
+                if (arg.endsWith(".java")) {
+                    List<Finding> lint = lintJava(file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+                    System.out.println("Lint " + arg + ": " + (lint.isEmpty() ? "clean" : lint.size() + " finding(s)"));
+                    lint.forEach(f -> System.out.println("  !! " + f));
+                    findings += lint.size();
+                } else {
+                    Compiled compiled = shared().compile(file.getFileName().toString(), Files.readString(file, StandardCharsets.UTF_8));
+                    System.out.print(compiled.table());
+                    findings += compiled.findings().size();
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            findings = -1;
+        } finally {
+            ApiSession.closeDrivers();
+            BookstoreStub.shared().stop();
+        }
+        System.exit(findings < 0 || (strict && findings > 0) ? 1 : 0);
+    }
+
+    // A scenario from the test classpath, e.g. "earbuds-to-guest-checkout.scenario"
+    public Compiled compileResource(String name) {
+        try (InputStream in = ScenarioCompiler.class.getResourceAsStream("/scenarios/" + name)) {
+            if (in == null) throw new IllegalArgumentException("No scenario " + name + " in src/test/resources/scenarios");
+            return compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Compiled compile(String name, String source) {
+        long start = System.nanoTime();
+        String hash = NetworkCache.sha256((FORMAT + "\n" + fixturesHash() + "\n" + source).getBytes(StandardCharsets.UTF_8));
+        Path cacheFile = cacheDir.resolve(name.replaceAll("[^\\w.-]", "_") + ".json");
+        Cached cached = readCache(cacheFile);
+        if (cached != null && cached.format() == FORMAT && hash.equals(cached.hash())) {
+            return new Compiled(name, hash, cached.steps(), cached.findings(), true, elapsed(start));
+        }
+
+        List<CompiledStep> steps = new ArrayList<>();
+        List<Finding> findings = new ArrayList<>();
+        try (Walk walk = new Walk(name)) {
+            String[] lines = source.split("\\R");
+            for (int i = 0; i < lines.length; i++) {
+                String text = lines[i].strip();
+                if (text.isEmpty() || text.startsWith("#")) continue;
+                steps.add(walk.step(i + 1, text, findings));
+            }
+        }
+        writeCache(cacheFile, new Cached(FORMAT, hash, steps, findings));
+        return new Compiled(name, hash, List.copyOf(steps), List.copyOf(findings), false, elapsed(start));
+    }
+
+    public static List<Finding> lintJava(String source, String code) {
+        List<Finding> findings = new ArrayList<>();
+        String[] lines = code.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.startsWith("//")) continue;
+            for (Map.Entry<String, Pattern> smell : JAVA_SMELLS.entrySet()) {
+                if (smell.getValue().matcher(line).find()) findings.add(new Finding(source, i + 1, smell.getKey(), line));
+            }
+        }
+        return findings;
+    }
+
+    // --- runtime
+
+    static void run(CompiledStep step, Scenario.StepContext ctx) {
+        Page page = ctx.page();
+        WaitEngine waits = ctx.waits();
+        Locator target = step.selector() == null ? null : page.locator(step.selector()).first();
+        String label = step.text();
+        switch (step.kind()) {
+            case NAVIGATE -> page.navigate(ctx.baseUrl().replaceAll("/$", "") + step.value());
+            case SEARCH -> {
+                waits.forVisible(target, label);
+                target.fill(step.value());
+                target.press("Enter");
+                page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+            }
+            case FILTER -> {
+                if (!target.isVisible()) page.locator(step.toggle()).first().click();
+                waits.forVisible(target, label);
+                assertTrue(waits.forFacetRerender(target::click), "Results did not change after " + label);
+            }
+            case CLICK -> {
+                waits.forVisible(target, label);
+                if (step.awaitPath() != null) waits.forResponse(step.awaitPath(), target::click);
+                else target.click();
+                if (step.navigates()) page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+            }
+            case FILL -> {
+                waits.forVisible(target, label);
+                target.fill(step.value());
+            }
+            case EXPECT -> {
+                waits.forVisible(target, label);
+                String text = target.innerText();
+                assertTrue(text.toLowerCase(Locale.ROOT).contains(step.value().toLowerCase(Locale.ROOT)),
+                        "Line " + step.line() + ": expected '" + step.value() + "' in " + step.selector() + " but saw: " + text);
+            }
+            case SLEEP -> page.waitForTimeout(Double.parseDouble(step.value()) * 1000);
+            case PAGE_CONTAINS -> assertTrue(page.content().contains(step.value()),
+                    "Line " + step.line() + ": page does not contain '" + step.value() + "'");
+        }
+    }
+
+    // --- compile-time walk over the stand-in
+
+    // One shopper going through the scenario over HTTP; doc is the page the next step will run on
+    private static final class Walk implements AutoCloseable {
+        private final String source;
+        private final String baseUrl = BookstoreStub.shared().url();
+        private final ApiSession api = ApiSession.open(baseUrl);
+        private final Map<String, String> filled = new LinkedHashMap<>();
+        private Document doc;
+        private String path;
+
+        Walk(String source) {
+            this.source = source;
+        }
+
+        CompiledStep step(int line, String text, List<Finding> findings) {
+            Matcher m;
+            if (HOME.matcher(text).matches()) {
+                open("/");
+                return new CompiledStep(line, text, Kind.NAVIGATE, null, null, "/", true, null);
+            }
+            if (doc == null) throw error(line, "open the home page first");
+            if ((m = SEARCH.matcher(text)).matches()) {
+                Element box = searchBox(line);
+                Element form = box.closest("form");
+                String action = form == null ? path : form.attr("action");
+                String selector = selectorFor(box, line);
+                open(action + "?" + encode(box.attr("name")) + "=" + encode(m.group(1)));
+                return new CompiledStep(line, text, Kind.SEARCH, selector, null, m.group(1), true, null);
+            }
+            if ((m = FILTER.matcher(text)).matches()) return filter(line, text, m.group(1), m.group(2));
+            if ((m = OPEN_PRODUCT.matcher(text)).matches()) return click(line, text, m.group(1), "a[href]");
+            if (CART.matcher(text).matches()) return click(line, text, "Cart", "a[href]");
+            if ((m = CLICK.matcher(text)).matches()) return click(line, text, m.group(1), "button, a[href], input[type=submit], [role=button]");
+            if ((m = FILL.matcher(text)).matches()) {
+                Element input = field(line, m.group(1));
+                filled.put(input.attr("name"), m.group(2));
+                return new CompiledStep(line, text, Kind.FILL, selectorFor(input, line), null, m.group(2), false, null);
+            }
+            if ((m = PAGE_CONTAINS.matcher(text)).matches()) {
+                findings.add(new Finding(source, line, "page-content-scan",
+                        "scans the whole HTML; use expect \"" + m.group(1) + "\" to check the element that shows it"));
+                return new CompiledStep(line, text, Kind.PAGE_CONTAINS, null, null, m.group(1), false, null);
+            }
+            if ((m = EXPECT.matcher(text)).matches()) {
+                Element shown = doc.body().select("*:containsOwn(" + jsoupText(m.group(1)) + ")").first();
+                if (shown == null) throw error(line, "'" + m.group(1) + "' is not on " + path);
+                return new CompiledStep(line, text, Kind.EXPECT, selectorFor(shown, line), null, m.group(1), false, null);
+            }
+            if ((m = SLEEP.matcher(text)).matches()) {
+                findings.add(new Finding(source, line, "fixed-sleep",
+                        "waits a fixed time; expect the element the wait is for instead"));
+                return new CompiledStep(line, text, Kind.SLEEP, null, null, m.group(1), false, null);
+            }
+            throw error(line, "don't know how to '" + text + "'. Steps look like: " + GRAMMAR);
+        }
+
+        private CompiledStep filter(int line, String text, String facet, String option) {
+            Element header = doc.select("button, summary").stream()
+                    .filter(e -> e.text().equalsIgnoreCase(facet)).findFirst()
+                    .orElseThrow(() -> error(line, "no '" + facet + "' filter on " + path));
+            Element group = header.parent();
+            Element label = group.select("label").stream()
+                    .filter(e -> e.text().equalsIgnoreCase(option)).findFirst()
+                    .orElseGet(() -> group.select("label:contains(" + jsoupText(option) + ")").first());
+            if (label == null) throw error(line, "no '" + option + "' option under " + facet + " on " + path);
+            CompiledStep step = new CompiledStep(line, text, Kind.FILTER, selectorFor(label, line), selectorFor(header, line),
+                    option, false, null);
+            // The page re-renders the results in place; the walk fetches the same filtered URL
+            Element input = label.selectFirst("input[name]");
+            if (input != null) open(path + (path.contains("?") ? "&" : "?") + encode(input.attr("name")) + "=" + encode(input.attr("value")));
+            return step;
+        }
+
+        private CompiledStep click(int line, String text, String name, String candidates) {
+            List<Element> matching = doc.select(candidates).stream()
+                    .filter(e -> visibleText(e).toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT)))
+                    .collect(Collectors.toList());
+            Element target = matching.stream().filter(e -> visibleText(e).equalsIgnoreCase(name)).findFirst()
+                    .orElse(matching.isEmpty() ? null : matching.get(0));
+            if (target == null) throw error(line, "nothing to click named '" + name + "' on " + path);
+            String selector = selectorFor(target, line);
+
+            // The one piece of page script the walk mirrors: Add to Cart posts the SKU without leaving the page
+            if (target.hasAttr("data-add-to-cart")) {
+                api.postForm("/cart/add", Map.of("sku", target.attr("data-add-to-cart")));
+                return new CompiledStep(line, text, Kind.CLICK, selector, null, name, false, "/cart/add");
+            }
+            if (target.is("a[href]")) {
+                open(target.attr("href"));
+                return new CompiledStep(line, text, Kind.CLICK, selector, null, name, true, null);
+            }
+            Element form = target.closest("form");
+            if (form != null) {
+                Map<String, String> fields = new LinkedHashMap<>();
+                for (Element input : form.select("input[name], select[name], textarea[name]")) {
+                    if (input.is("[type=checkbox], [type=radio]") && !input.hasAttr("checked")) continue;
+                    fields.put(input.attr("name"), filled.getOrDefault(input.attr("name"), input.val()));
+                }
+                String action = form.attr("action").isEmpty() ? path : form.attr("action");
+                if (form.attr("method").equalsIgnoreCase("post")) {
+                    doc = api.submitForm(action, fields);
+                    path = relative(doc.location());
+                } else {
+                    open(action + (fields.isEmpty() ? "" : "?" + fields.entrySet().stream()
+                            .map(e -> encode(e.getKey()) + "=" + encode(e.getValue())).collect(Collectors.joining("&"))));
+                }
+                filled.clear();
+                return new CompiledStep(line, text, Kind.CLICK, selector, null, name, true, null);
+            }
+            return new CompiledStep(line, text, Kind.CLICK, selector, null, name, false, null);
+        }
+
+        private Element searchBox(int line) {
+            for (Element input : doc.select("input")) {
+                String hints = String.join(" ", input.attr("type"), input.attr("name"), input.attr("aria-label"),
+                        input.attr("placeholder")).toLowerCase(Locale.ROOT);
+                Element form = input.closest("form");
+                if (hints.contains("search") || (form != null && form.attr("role").equals("search"))) return input;
+            }
+            throw error(line, "no search box on " + path);
+        }
+
+        // By its <label for>, wrapping <label>, aria-label, placeholder or name
+        private Element field(int line, String label) {
+            for (Element l : doc.select("label")) {
+                if (!l.ownText().strip().equalsIgnoreCase(label)) continue;
+                Element input = l.hasAttr("for") ? doc.getElementById(l.attr("for")) : l.selectFirst("input, select, textarea");
+                if (input != null) return input;
+            }
+            for (Element input : doc.select("input, select, textarea")) {
+                if (Stream.of("aria-label", "placeholder", "name").anyMatch(a -> input.attr(a).equalsIgnoreCase(label))) return input;
+            }
+            throw error(line, "no field labelled '" + label + "' on " + path);
+        }
+
+        // The most stable selector that finds exactly this element on the fixture page (or finds it first)
+        private String selectorFor(Element el, int line) {
+            String fallback = null;
+            for (String[] candidate : candidates(el)) {
+                Elements found = doc.select(candidate[1]);
+                if (found.isEmpty() || found.first() != el) continue;
+                if (found.size() == 1) return candidate[0];
+                if (fallback == null) fallback = candidate[0];
+            }
+            if (fallback != null) return fallback;
+            throw error(line, "no selector finds <" + el.tagName() + "> '" + visibleText(el) + "' on " + path);
+        }
+
+        private String relative(String url) {
+            return url.startsWith(baseUrl) ? "/" + url.substring(baseUrl.length()) : url;
+        }
+
+        private void open(String target) {
+            doc = api.get(target);
+            path = relative(doc.location());
+        }
+
+        private IllegalArgumentException error(int line, String message) {
+            return new IllegalArgumentException(source + ":" + line + ": " + message);
+        }
+
+        @Override
+        public void close() {
+            api.close();
+        }
+    }
+
+    // Pairs of {Playwright selector, the same selector for jsoup}, most stable first
+    static List<String[]> candidates(Element el) {
+        List<String[]> out = new ArrayList<>();
+        String tag = el.tagName();
+        if (!el.id().isEmpty() && el.id().matches("[A-Za-z][\\w-]*")) add(out, "#" + el.id());
+        el.attributes().forEach(a -> {
+            if (a.getKey().startsWith("data-")) add(out, tag + (a.getValue().isEmpty() ? "[" + a.getKey() + "]" : attr(a.getKey(), a.getValue())));
+        });
+        if (el.hasAttr("name")) {
+            add(out, tag + attr("name", el.attr("name")) + (el.hasAttr("value") ? attr("value", el.attr("value")) : ""));
+            add(out, tag + attr("name", el.attr("name")));
+        }
+        for (String a : List.of("aria-label", "placeholder", "href")) {
+            if (el.hasAttr(a)) add(out, tag + attr(a, el.attr(a)));
+        }
+        Element input = el.selectFirst("input[name][value]");
+        if (input != null && input != el) {
+            add(out, tag + ":has(input" + attr("name", input.attr("name")) + attr("value", input.attr("value")) + ")");
+        }
+        Element form = el.closest("form");
+        if (form != null && form != el && form.hasAttr("action")) add(out, "form" + attr("action", form.attr("action")) + " " + tag);
+        Element scoped = el.parent();
+        while (scoped != null && scoped.attributes().asList().stream().noneMatch(a -> a.getKey().startsWith("data-"))) {
+            scoped = scoped.parent();
+        }
+        if (scoped != null && scoped.parent() != null) {
+            String scope = scoped.tagName();
+            scoped.attributes().asList().stream().filter(a -> a.getKey().startsWith("data-")).findFirst()
+                    .ifPresent(a -> add(out, scope + attr(a.getKey(), a.getValue()) + " " + tag));
+        }
+        if (!el.classNames().isEmpty()) add(out, tag + "." + String.join(".", el.classNames()));
+        String text = visibleText(el);
+        if (!text.isEmpty() && text.length() <= 80 && !text.contains("\"")) {
+            out.add(new String[]{tag + ":has-text(\"" + text + "\")", tag + ":contains(" + jsoupText(text) + ")"});
+        }
+        return out;
+    }
+
+    private static void add(List<String[]> out, String css) {
+        out.add(new String[]{css, css});
+    }
+
+    private static String attr(String name, String value) {
+        return "[" + name + "='" + value.replace("\\", "\\\\").replace("'", "\\'") + "']";
+    }
+
+    private static String visibleText(Element el) {
+        return el.is("input") ? el.val().strip() : el.text().strip();
+    }
+
+    // jsoup's :contains/:containsOwn take the text unquoted; parentheses and commas need escaping
+    private static String jsoupText(String text) {
+        return text.replaceAll("([(),\\\\])", "\\\\$1");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // --- cache
+
+    // Hash of the stand-in's pages and scripts; a changed fixture recompiles every scenario
+    private static String fixturesHash() {
+        URL root = BookstoreStub.class.getResource("/bookstore");
+        if (root == null) return "none";
+        try {
+            if (!"file".equals(root.getProtocol())) return root.toString();
+            ByteArrayOutputStream all = new ByteArrayOutputStream();
+            try (Stream<Path> files = Files.walk(Paths.get(root.toURI()))) {
+                for (Path f : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    all.write(f.getFileName().toString().getBytes(StandardCharsets.UTF_8));
+                    all.write(Files.readAllBytes(f));
+                }
+            }
+            return NetworkCache.sha256(all.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Cached readCache(Path file) {
+        if (!Files.exists(file)) return null;
+        try {
+            return GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8), Cached.class);
+        } catch (IOException | RuntimeException e) {
+            return null; // unreadable: compile again and overwrite it
+        }
+    }
+
+    private static void writeCache(Path file, Cached cached) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "scenario", ".tmp");
+            Files.writeString(tmp, GSON.toJson(cached), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long elapsed(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,62 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Grammar errors and findings of the scenario compiler, walked over the local stand-in
+class ScenarioCompilerTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private String compileError(String source) {
+        ScenarioCompiler compiler = new ScenarioCompiler(cacheDir);
+        return assertThrows(IllegalArgumentException.class, () -> compiler.compile("t.scenario", source)).getMessage();
+    }
+
+    @Test
+    void steps_before_the_home_page_are_rejected() {
+        assertEquals("t.scenario:2: open the home page first", compileError("# no page yet\nclick \"Cart\""));
+        assertEquals("t.scenario:1: open the home page first", compileError("expect \"Bookstore\""));
+    }
+
+    @Test
+    void unknown_steps_name_the_grammar() {
+        String message = compileError("open the home page\nteleport to checkout");
+        assertTrue(message.startsWith("t.scenario:2: don't know how to 'teleport to checkout'"), message);
+        assertTrue(message.contains("search for \"q\""), message);
+    }
+
+    @Test
+    void sleeps_compile_as_findings_and_are_cached() {
+        ScenarioCompiler compiler = new ScenarioCompiler(cacheDir);
+        ScenarioCompiler.Compiled first = compiler.compile("t.scenario", "open the home page\nwait 2 seconds");
+        assertFalse(first.fromCache());
+        assertEquals(List.of(ScenarioCompiler.Kind.NAVIGATE, ScenarioCompiler.Kind.SLEEP),
+                first.steps().stream().map(ScenarioCompiler.CompiledStep::kind).toList());
+        assertEquals(List.of("fixed-sleep"), first.findings().stream().map(ScenarioCompiler.Finding::kind).toList());
+
+        ScenarioCompiler.Compiled again = compiler.compile("t.scenario", "open the home page\nwait 2 seconds");
+        assertTrue(again.fromCache());
+        assertEquals(first.steps(), again.steps());
+    }
+
+    @Test
+    void java_lint_flags_sleeps_and_page_scans_outside_comments() {
+        List<ScenarioCompiler.Finding> findings = ScenarioCompiler.lintJava("A.java", String.join("\n",
+                "page.waitForTimeout(500);",
+                "// Thread.sleep(100) was here",
+                "Thread.sleep(100);",
+                "assertTrue(page.content().contains(\"x\"));",
+                "page.locator(\"#cart\").click();"));
+        assertEquals(List.of("A.java:1: fixed-sleep: page.waitForTimeout(500);",
+                        "A.java:3: fixed-sleep: Thread.sleep(100);",
+                        "A.java:4: page-content-scan: assertTrue(page.content().contains(\"x\"));"),
+                findings.stream().map(ScenarioCompiler.Finding::toString).toList());
+    }
+}
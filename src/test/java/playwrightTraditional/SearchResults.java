@@ -0,0 +1,105 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.AriaRole;
+import com.microsoft.playwright.options.LoadState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Search box, facet filters and the product grid
+public final class SearchResults {
+
+    public record State(String url, List<String> products, List<String> checkedFacets) {}
+
+    private static final String STATE_FN = """
+            () => ({
+              url: location.href,
+              products: [...document.querySelectorAll('.product-list a, .products a')]
+                .map(a => (a.innerText || '').trim()).filter(t => t.length > 0),
+              checkedFacets: [...document.querySelectorAll('input[type=checkbox]:checked')]
+                .map(i => (i.closest('label') || i).innerText.trim() || i.value)
+            })""";
+
+    private final Page page;
+    private final WaitEngine waits;
+    private final Locator searchBox;
+    private final Locator labels;
+    private final Locator facetLabels;
+    private final Locator links;
+
+    public SearchResults(Page page, WaitEngine waits) {
+        this.page = page;
+        this.waits = waits;
+        this.searchBox = page.getByRole(AriaRole.TEXTBOX, new Page.GetByRoleOptions().setName("Search"));
+        this.labels = page.locator("label");
+        this.facetLabels = page.locator("span.facet__list__label");
+        this.links = page.locator("a");
+    }
+
+    public SearchResults search(String query) {
+        searchBox.click();
+        page.keyboard().type(query);
+        page.keyboard().press("Enter");
+
+        // Wait for the page and network to finish loading
+        page.waitForLoadState(LoadState.NETWORKIDLE);
+        return this;
+    }
+
+    // Brand options are matched on their whole <label>, which also holds the checkbox
+    public SearchResults filterBrand(String brand) {
+        BookstoreHelpers.expandFilter(page, waits, "Brand");
+
+        Locator label = labels.filter(hasText(brand)).first();
+        assertTrue(label.count() > 0, "Could not find " + brand + " brand checkbox");
+        waits.forVisible(label, brand + " brand checkbox");
+
+        label.scrollIntoViewIfNeeded();
+        assertTrue(waits.forFacetRerender(label::click), "Results did not change after selecting " + brand);
+        return this;
+    }
+
+    public SearchResults filter(String facet, String option) {
+        BookstoreHelpers.expandFilter(page, waits, facet);
+
+        Locator label = facetLabels.filter(hasText(option)).first();
+        if (label.count() == 0) {
+            label = page.getByText(option, new Page.GetByTextOptions().setExact(false)).first();
+        }
+        assertTrue(label.count() > 0, "Could not find " + option + " " + facet.toLowerCase() + " filter label");
+        waits.forVisible(label, option + " " + facet.toLowerCase() + " filter");
+        assertTrue(waits.forFacetRerender(label::click), "Results did not change after selecting " + option);
+        return this;
+    }
+
+    public ProductDetail openProduct(String name) {
+        Locator link = links.filter(hasText(name)).first();
+        assertTrue(link.count() > 0, "Could not find product link: " + name);
+        waits.forVisible(link, "product link");
+        link.scrollIntoViewIfNeeded();
+        link.click();
+        page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+
+        return new ProductDetail(page, waits).waitForTitle(name);
+    }
+
+    public State state() {
+        Map<?, ?> m = (Map<?, ?>) page.evaluate(STATE_FN);
+        return new State((String) m.get("url"), strings(m.get("products")), strings(m.get("checkedFacets")));
+    }
+
+    static Locator.FilterOptions hasText(String text) {
+        return new Locator.FilterOptions().setHasText(text);
+    }
+
+    static List<String> strings(Object raw) {
+        List<String> out = new ArrayList<>();
+        for (Object o : (List<?>) raw) out.add(String.valueOf(o));
+        return out;
+    }
+}
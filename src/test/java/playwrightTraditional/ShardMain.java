@@ -0,0 +1,87 @@
+package playwrightTraditional;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.discovery.MethodSelector;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+import org.junit.platform.reporting.legacy.xml.LegacyXmlReportGeneratingListener;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entry point of one shard JVM started by {@link ShardRunner}: runs the test methods listed in
+ * {@code <shardDir>/tests.txt}, writes surefire-style XML to {@code <shardDir>/reports} and measured
+ * durations to {@code <shardDir>/timings.json}. Exits 1 when anything failed.
+ */
+public final class ShardMain {
+
+    public static void main(String[] args) throws Exception {
+        Path shardDir = Paths.get(args[0]);
+        List<MethodSelector> selectors = Files.readAllLines(shardDir.resolve("tests.txt"), StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .map(ShardMain::selector)
+                .toList();
+
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request().selectors(selectors).build();
+        SummaryGeneratingListener summary = new SummaryGeneratingListener();
+        Timer timer = new Timer();
+        PrintWriter out = new PrintWriter(System.out, true, StandardCharsets.UTF_8);
+
+        Launcher launcher = LauncherFactory.create();
+        launcher.execute(request, summary, timer,
+                new LegacyXmlReportGeneratingListener(shardDir.resolve("reports"), out));
+
+        Files.writeString(shardDir.resolve("timings.json"), TestTimings.toJson(timer.millis), StandardCharsets.UTF_8);
+        TestExecutionSummary result = summary.getSummary();
+        result.printTo(out);
+        result.printFailuresTo(out, 20);
+        System.exit(result.getTotalFailureCount() == 0 ? 0 : 1);
+    }
+
+    // "pkg.Class#method" or "pkg.Class#method(java.lang.String)"
+    static MethodSelector selector(String test) {
+        int hash = test.indexOf('#');
+        int paren = test.indexOf('(', hash);
+        String cls = test.substring(0, hash);
+        if (paren < 0) return DiscoverySelectors.selectMethod(cls, test.substring(hash + 1));
+        return DiscoverySelectors.selectMethod(cls, test.substring(hash + 1, paren), test.substring(paren + 1, test.length() - 1));
+    }
+
+    static String key(MethodSource source) {
+        String params = source.getMethodParameterTypes();
+        return source.getClassName() + "#" + source.getMethodName() + (params == null || params.isEmpty() ? "" : "(" + params + ")");
+    }
+
+    // Wall time per test method; repeated or parameterized invocations add up
+    private static final class Timer implements TestExecutionListener {
+        final Map<String, Long> millis = new ConcurrentHashMap<>();
+        private final Map<String, Long> started = new ConcurrentHashMap<>();
+
+        @Override
+        public void executionStarted(TestIdentifier id) {
+            if (id.isTest()) started.put(id.getUniqueId(), System.nanoTime());
+        }
+
+        @Override
+        public void executionFinished(TestIdentifier id, TestExecutionResult result) {
+            Long start = started.remove(id.getUniqueId());
+            if (start == null || !(id.getSource().orElse(null) instanceof MethodSource source)) return;
+            millis.merge(key(source), (System.nanoTime() - start) / 1_000_000, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package playwrightTraditional;
+
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the suite across N JVMs on this machine. Test methods are balanced by past duration
+ * (longest first, each to the shard with the least planned time) so the run takes about as long
+ * as its slowest shard. Afterwards the shard reports are copied into target/surefire-reports (one file
+ * per shard and class, so each testcase appears there once), a single merged suite is written to
+ * target/shards, videos go to -Dvideo.dir, and the measured durations feed the next plan.
+ *
+ * mvn -Pshards test-compile exec:java -Dshards=4 [-Dshards.filter=Bookstore.*] [any -D test property]
+ */
+public final class ShardRunner {
+
+    // System properties handed on to every shard JVM: names ending in '.' are prefixes, the rest exact names
+    private static final List<String> FORWARDED = List.of("bookstore.", "headless", "pool.", "video.", "trace.",
+            "network.", "checkpoint.", "locator.", "flaky.", "artifacts.", "visual.", "browser", "browsers", "browser.",
+            "playwright.", "perf.", "steplog.", "scenario.", "waits.", "junit.");
+
+    record Shard(int index, List<String> tests, long plannedMillis) {}
+
+    public static void main(String[] args) throws Exception {
+        int shards = Integer.getInteger("shards", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        Pattern filter = Pattern.compile(System.getProperty("shards.filter", ".*"));
+        Path work = Paths.get(System.getProperty("shards.dir", "target/shards"));
+        Path timingsFile = Paths.get(System.getProperty("shards.timings", ".cache/test-timings.json"));
+        Path reports = Paths.get("target/surefire-reports");
+
+        // One run ID across all shards, so their videos are indexed under the same run
+        System.setProperty("artifacts.runId", ArtifactPipeline.shared().runId());
+        String classpath = classpath();
+        List<String> tests = discover(classpath, filter);
+        TestTimings timings = TestTimings.load(timingsFile, reports);
+        List<Shard> plan = plan(tests, timings, shards);
+        System.out.print(describe(plan, timings));
+
+        deleteRecursively(work);
+        long launched = System.nanoTime();
+        List<Process> processes = new ArrayList<>();
+        for (Shard shard : plan) processes.add(start(shard, work, classpath, shards));
+
+        boolean failed = false;
+        StringBuilder summary = new StringBuilder("Shard results\n");
+        for (int i = 0; i < plan.size(); i++) {
+            int exit = processes.get(i).waitFor();
+            failed |= exit != 0;
+            Path dir = shardDir(work, plan.get(i));
+            timings.putAll(TestTimings.readJson(dir.resolve("timings.json")));
+            summary.append(String.format("  shard %d: exit %d, planned %d ms, log %s%n",
+                    plan.get(i).index(), exit, plan.get(i).plannedMillis(), dir.resolve("output.log")));
+        }
+        timings.save(timingsFile);
+        long wallMillis = (System.nanoTime() - launched) / 1_000_000;
+
+        Path merged = mergeReports(plan, work, reports, wallMillis);
+        List<Path> videos = mergeDirs(plan, work, "videos", Paths.get(System.getProperty("video.dir", "videos")));
+        mergeDirs(plan, work, "traces", Paths.get(System.getProperty("trace.dir", "target/traces")));
+        summary.append("  wall ").append(wallMillis).append(" ms, merged report: ").append(merged).append('\n');
+        for (Path video : videos) summary.append("  video: ").append(video).append('\n');
+        System.out.print(summary);
+        System.exit(failed ? 1 : 0);
+    }
+
+    // Longest-processing-time first: biggest test to the currently lightest shard
+    static List<Shard> plan(List<String> tests, TestTimings timings, int shardCount) {
+        int n = Math.max(1, Math.min(shardCount, tests.size()));
+        List<List<String>> assigned = new ArrayList<>();
+        long[] load = new long[n];
+        for (int i = 0; i < n; i++) assigned.add(new ArrayList<>());
+
+        List<String> bySize = new ArrayList<>(tests);
+        bySize.sort(Comparator.comparingLong(timings::estimate).reversed().thenComparing(Comparator.naturalOrder()));
+        for (String test : bySize) {
+            int lightest = 0;
+            for (int i = 1; i < n; i++) if (load[i] < load[lightest]) lightest = i;
+            assigned.get(lightest).add(test);
+            load[lightest] += timings.estimate(test);
+        }
+
+        List<Shard> plan = new ArrayList<>();
+        for (int i = 0; i < n; i++) plan.add(new Shard(i, assigned.get(i), load[i]));
+        return plan;
+    }
+
+    static String describe(List<Shard> plan, TestTimings timings) {
+        StringBuilder sb = new StringBuilder("Shard plan\n");
+        for (Shard shard : plan) {
+            sb.append(String.format("  shard %d (%d ms planned)%n", shard.index(), shard.plannedMillis()));
+            for (String test : shard.tests()) {
+                sb.append(String.format("    %8d ms%s  %s%n", timings.estimate(test), timings.known(test) ? "" : "?", test));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static List<String> discover(String classpath, Pattern filter) {
+        Set<Path> roots = new LinkedHashSet<>();
+        for (String entry : classpath.split(File.pathSeparator)) {
+            if (entry.endsWith("test-classes") || entry.endsWith("test-classes" + File.separator)) roots.add(Paths.get(entry));
+        }
+        TestPlan plan = LauncherFactory.create().discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClasspathRoots(roots))
+                .build());
+
+        Set<String> tests = new LinkedHashSet<>();
+        for (TestIdentifier root : plan.getRoots()) collect(plan, root, tests);
+        return tests.stream().filter(t -> filter.matcher(t.substring(0, t.indexOf('#'))).find()).collect(Collectors.toList());
+    }
+
+    private static void collect(TestPlan plan, TestIdentifier id, Set<String> out) {
+        if (id.getSource().orElse(null) instanceof MethodSource source) {
+            out.add(ShardMain.key(source));
+            return;
+        }
+        for (TestIdentifier child : plan.getChildren(id)) collect(plan, child, out);
+    }
+
+    static boolean forwarded(String property) {
+        return FORWARDED.stream().anyMatch(f -> f.endsWith(".") ? property.startsWith(f) : property.equals(f));
+    }
+
+    private static Process start(Shard shard, Path work, String classpath, int shardCount) throws IOException {
+        Path dir = shardDir(work, shard);
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("tests.txt"), shard.tests(), StandardCharsets.UTF_8);
+
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.add("-cp");
+        cmd.add(classpath);
+        System.getProperties().stringPropertyNames().stream().sorted()
+                .filter(ShardRunner::forwarded)
+                .filter(name -> !name.equals("video.dir") && !name.equals("trace.dir"))
+                .forEach(name -> cmd.add("-D" + name + "=" + System.getProperty(name)));
+        if (System.getProperty("pool.size") == null) {
+            cmd.add("-Dpool.size=" + Math.max(1, Runtime.getRuntime().availableProcessors() / shardCount));
+        }
+        cmd.add("-Dvideo.dir=" + dir.resolve("videos"));
+        cmd.add("-Dtrace.dir=" + dir.resolve("traces"));
+        cmd.add(ShardMain.class.getName());
+        cmd.add(dir.toString());
+
+        return new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("output.log").toFile())
+                .start();
+    }
+
+    // Per-shard files go to surefire-reports for CI; the one testsuite holding every shard's testcases stays
+    // in the work dir so nothing reading surefire-reports counts a test twice. Its time is the wall time.
+    private static Path mergeReports(List<Shard> plan, Path work, Path reports, long wallMillis) throws Exception {
+        Files.createDirectories(reports);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        Document merged = factory.newDocumentBuilder().newDocument();
+        Element suite = merged.createElement("testsuite");
+        suite.setAttribute("name", "shards");
+        merged.appendChild(suite);
+        int tests = 0, failures = 0, errors = 0, skipped = 0;
+
+        for (Shard shard : plan) {
+            Path dir = shardDir(work, shard).resolve("reports");
+            if (!Files.isDirectory(dir)) continue;
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path xml : files.filter(f -> f.toString().endsWith(".xml")).toList()) {
+                    Files.copy(xml, reports.resolve("TEST-shard-" + shard.index() + "-" + xml.getFileName().toString().replaceFirst("^TEST-", "")),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    Document doc = factory.newDocumentBuilder().parse(xml.toFile());
+                    NodeList cases = doc.getElementsByTagName("testcase");
+                    for (int i = 0; i < cases.getLength(); i++) {
+                        Element testcase = (Element) cases.item(i);
+                        tests++;
+                        if (testcase.getElementsByTagName("failure").getLength() > 0) failures++;
+                        if (testcase.getElementsByTagName("error").getLength() > 0) errors++;
+                        if (testcase.getElementsByTagName("skipped").getLength() > 0) skipped++;
+                        Node copy = merged.importNode(testcase, true);
+                        ((Element) copy).setAttribute("shard", String.valueOf(shard.index()));
+                        suite.appendChild(copy);
+                    }
+                }
+            }
+        }
+        suite.setAttribute("tests", String.valueOf(tests));
+        suite.setAttribute("failures", String.valueOf(failures));
+        suite.setAttribute("errors", String.valueOf(errors));
+        suite.setAttribute("skipped", String.valueOf(skipped));
+        suite.setAttribute("time", String.format(Locale.ROOT, "%.3f", wallMillis / 1000.0));
+
+        Path out = work.resolve("TEST-shards-merged.xml");
+        var transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(merged), new StreamResult(out.toFile()));
+        return out;
+    }
+
+    private static List<Path> mergeDirs(List<Shard> plan, Path work, String name, Path target) throws IOException {
+        List<Path> moved = new ArrayList<>();
+        for (Shard shard : plan) {
+            Path dir = shardDir(work, shard).resolve(name);
+            if (!Files.isDirectory(dir)) continue;
+            Files.createDirectories(target);
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : files.toList()) {
+                    Path dest = target.resolve(file.getFileName());
+                    if (file.getFileName().toString().equals(ArtifactPipeline.MANIFEST)) {
+                        ArtifactPipeline.mergeManifest(file, dest);
+                        continue;
+                    }
+                    Files.move(file, dest, StandardCopyOption.REPLACE_EXISTING);
+                    moved.add(dest);
+                }
+            }
+        }
+        return moved;
+    }
+
+    private static Path shardDir(Path work, Shard shard) {
+        return work.resolve("shard-" + shard.index());
+    }
+
+    // Under exec:java the test classpath lives in the plugin's class loader, not in java.class.path
+    private static String classpath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader cl = ShardRunner.class.getClassLoader(); cl != null; cl = cl.getParent()) {
+            if (cl instanceof URLClassLoader urls) {
+                for (URL url : urls.getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (Exception e) {
+                        entries.add(url.getPath());
+                    }
+                }
+            }
+        }
+        if (entries.isEmpty()) return System.getProperty("java.class.path");
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : paths.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
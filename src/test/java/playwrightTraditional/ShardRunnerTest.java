@@ -0,0 +1,64 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Planning and property forwarding, without starting shard JVMs
+class ShardRunnerTest {
+
+    @TempDir
+    Path dir;
+
+    private TestTimings timings(Map<String, Long> known) {
+        TestTimings timings = TestTimings.load(dir.resolve("none.json"), dir);
+        timings.putAll(known);
+        return timings;
+    }
+
+    @Test
+    void longest_tests_go_to_the_lightest_shard() {
+        TestTimings timings = timings(Map.of("t#a", 8000L, "t#b", 5000L, "t#c", 4000L, "t#d", 3000L, "t#e", 1000L));
+        List<ShardRunner.Shard> plan = ShardRunner.plan(List.of("t#e", "t#d", "t#c", "t#b", "t#a"), timings, 2);
+
+        assertEquals(2, plan.size());
+        assertEquals(List.of("t#a", "t#d"), plan.get(0).tests());
+        assertEquals(List.of("t#b", "t#c", "t#e"), plan.get(1).tests());
+        assertEquals(11_000, plan.get(0).plannedMillis());
+        assertEquals(10_000, plan.get(1).plannedMillis());
+    }
+
+    @Test
+    void every_test_is_planned_exactly_once() {
+        TestTimings timings = timings(Map.of("t#a", 100L));
+        List<String> tests = List.of("t#a", "t#b", "t#c", "t#d", "t#e", "t#f", "t#g");
+        List<ShardRunner.Shard> plan = ShardRunner.plan(tests, timings, 3);
+        assertEquals(7, plan.stream().mapToInt(s -> s.tests().size()).sum());
+        assertEquals(Set.copyOf(tests), plan.stream().flatMap(s -> s.tests().stream()).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void no_more_shards_than_tests() {
+        List<ShardRunner.Shard> plan = ShardRunner.plan(List.of("t#a", "t#b"), timings(Map.of()), 8);
+        assertEquals(2, plan.size());
+        assertTrue(plan.stream().allMatch(s -> s.tests().size() == 1));
+    }
+
+    @Test
+    void engine_and_tool_properties_reach_the_shards() {
+        for (String name : List.of("browser", "browsers", "browser.server", "perf.mode", "steplog.dir", "scenario.cacheDir",
+                "headless", "bookstore.url")) {
+            assertTrue(ShardRunner.forwarded(name), name);
+        }
+        for (String name : List.of("browserx", "headlessish", "java.home", "user.dir")) {
+            assertFalse(ShardRunner.forwarded(name), name);
+        }
+    }
+}
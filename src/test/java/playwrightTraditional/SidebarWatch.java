@@ -0,0 +1,96 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.options.LoadState;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Waits for the checkout Order Summary to finish recalculating, without polling from Java.
+ * One evaluate installs a MutationObserver on the sidebar and a PerformanceObserver on the
+ * tax request (fetch or XHR, matched by URL) and returns a promise that resolves as soon as
+ * Tax shows an amount, or once the tax request has completed and the sidebar stayed "TBD".
+ */
+public final class SidebarWatch {
+
+    // Sidebar row values by label ("Order Subtotal" -> "$164.98"); reason is why the watch resolved:
+    // "tax-loaded", "tax-unavailable" (the request finished without a value) or "timeout"
+    public record Totals(Map<String, String> rows, boolean taxLoaded, String reason, long millis) {
+
+        public String row(String label) {
+            return rows.getOrDefault(label, "");
+        }
+    }
+
+    // Resources whose URL matches count as the tax calculation
+    static final String TAX_REQUEST = "/tax";
+
+    // After the tax request ends, the page still has to parse it and update the DOM
+    private static final int SETTLE_MS = 250;
+
+    private static final String WATCH_FN = """
+            ([taxRequest, timeout, settleMs]) => new Promise(resolve => {
+              const started = performance.now();
+              const sidebar = () => [...document.querySelectorAll('aside, section, div')]
+                .filter(el => (el.innerText || '').includes('Order Summary')).pop();
+              const rows = () => {
+                const out = {};
+                const root = sidebar();
+                if (!root) return out;
+                for (const row of root.querySelectorAll('p, div, li')) {
+                  if (row.children.length > 2) continue;
+                  const m = (row.innerText || '').trim().match(/^(Order Subtotal|Subtotal|Handling|Tax|Total)\\s*:?\\s*(.+)$/i);
+                  if (m && !(m[1] in out)) out[m[1]] = m[2].trim();
+                }
+                return out;
+              };
+              const taxLoaded = r => r.Tax !== undefined && !/TBD/i.test(r.Tax) && /\\d+\\.\\d{2}/.test(r.Tax);
+              const taxDone = () => performance.getEntriesByType('resource')
+                .some(e => e.name.includes(taxRequest) && e.responseEnd > 0);
+              let done = false, settleTimer = null;
+              const finish = reason => {
+                if (done) return;
+                done = true;
+                observer.disconnect();
+                requests.disconnect();
+                clearTimeout(timer);
+                clearTimeout(settleTimer);
+                const r = rows();
+                resolve({ rows: r, taxLoaded: taxLoaded(r), reason: taxLoaded(r) ? 'tax-loaded' : reason,
+                          millis: Math.round(performance.now() - started) });
+              };
+              const check = () => {
+                if (taxLoaded(rows())) finish('tax-loaded');
+                else if (taxDone() && !settleTimer) settleTimer = setTimeout(() => finish('tax-unavailable'), settleMs);
+              };
+              const observer = new MutationObserver(check);
+              observer.observe(sidebar() || document.body, { childList: true, subtree: true, characterData: true });
+              const requests = new PerformanceObserver(check);
+              requests.observe({ type: 'resource', buffered: false });
+              const timer = setTimeout(() => finish('timeout'), timeout);
+              check();
+            })""";
+
+    private SidebarWatch() {
+    }
+
+    // Resolves the moment the sidebar settles; never throws on a timeout, callers decide from Totals
+    @SuppressWarnings("unchecked")
+    public static Totals await(Page page, double timeoutMs) {
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) page.evaluate(WATCH_FN, new Object[]{TAX_REQUEST, timeoutMs, SETTLE_MS});
+        } catch (PlaywrightException e) {
+            // A redirect or late navigation replaced the document; watch the new one
+            if (!WaitEngine.isContextDestroyed(e)) throw e;
+            page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+            result = (Map<String, Object>) page.evaluate(WATCH_FN, new Object[]{TAX_REQUEST, timeoutMs, SETTLE_MS});
+        }
+        Map<String, String> rows = new LinkedHashMap<>();
+        ((Map<String, Object>) result.get("rows")).forEach((label, value) -> rows.put(label, String.valueOf(value)));
+        return new Totals(rows, Boolean.TRUE.equals(result.get("taxLoaded")), String.valueOf(result.get("reason")),
+                ((Number) result.get("millis")).longValue());
+    }
+}
@@ -0,0 +1,211 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.microsoft.playwright.Page;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Structured step events for one test session, written as JSON lines to -Dsteplog.dir (default target/step-logs),
+ * one file per JVM. While a test runs, events only go into an in-memory buffer; the buffer is serialized and
+ * appended by a background thread when the session closes. Heavy payloads (HTML, long innerText dumps) are
+ * only produced then, and only when the session failed; they are written next to the log. Session summaries
+ * (waits, blocked requests, network cache, API calls) are written as "summary" events on every close, and
+ * printed only when the session failed.
+ *
+ * Helpers reach the log through {@link #of(Page)}; -Dsteplog.echo=true also prints notes, and every summary, to stdout.
+ */
+public final class StepLog {
+
+    public record Event(long at, String test, String step, String kind, String target, Long millis, String outcome,
+                        String message) {}
+
+    private record Payload(String step, String name, Supplier<String> content) {}
+
+    private record Captured(String step, String name, String content) {}
+
+    private record Summary(String name, Supplier<String> text) {}
+
+    private static final Gson GSON = new Gson();
+    // -Dsteplog.dir=off drops the events instead of writing them, e.g. for load runs
+    private static final boolean OFF = "off".equalsIgnoreCase(System.getProperty("steplog.dir"));
+    private static final Path DIR = Paths.get(System.getProperty("steplog.dir", "target/step-logs"));
+    private static final boolean ECHO = Boolean.getBoolean("steplog.echo");
+    private static final Path FILE = DIR.resolve("steps-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now())
+            + "-" + ManagementFactory.getRuntimeMXBean().getPid() + ".jsonl");
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "step-log-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Map<Page, StepLog> BY_PAGE = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final StepLog DETACHED = new StepLog("detached");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            WRITER.shutdown();
+            try {
+                WRITER.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+    }
+
+    private final String test;
+    private final List<Event> events = new ArrayList<>();
+    private final List<Payload> payloads = new ArrayList<>();
+    private final List<Summary> summaries = new ArrayList<>();
+    private String step = "-";
+
+    public StepLog(String test) {
+        this.test = test;
+    }
+
+    // The log of the session that owns this page; a log that is never written for pages outside a session
+    public static StepLog of(Page page) {
+        StepLog log = BY_PAGE.get(page);
+        return log != null ? log : DETACHED;
+    }
+
+    StepLog attachTo(Page page) {
+        BY_PAGE.put(page, this);
+        return this;
+    }
+
+    public synchronized void stepStarted(String name) {
+        step = name;
+        add("step-start", null, null, null, null);
+    }
+
+    public synchronized void stepFinished(String name, long millis, String outcome, Throwable error) {
+        step = name;
+        add("step-end", null, millis, outcome, error == null ? null : String.valueOf(error.getMessage()));
+    }
+
+    public synchronized void waited(String target, long millis, boolean satisfied) {
+        add("wait", target, millis, satisfied ? "ok" : "timeout", null);
+    }
+
+    public synchronized void note(String message) {
+        add("note", null, null, null, message);
+        if (ECHO) System.out.println("[" + test + "/" + step + "] " + message);
+    }
+
+    public synchronized void note(String target, String message) {
+        add("note", target, null, null, message);
+        if (ECHO) System.out.println("[" + test + "/" + step + "] " + target + ": " + message);
+    }
+
+    // Written only if the test fails; the supplier runs at close, before the session's page is closed
+    public synchronized void payload(String name, Supplier<String> content) {
+        if (this == DETACHED) return;
+        payloads.add(new Payload(step, name, content));
+        add("payload", name, null, null, null);
+    }
+
+    // Runs at close and is written as a "summary" event; printed too when the test failed or with -Dsteplog.echo=true
+    public synchronized void summary(String name, Supplier<String> text) {
+        if (this == DETACHED) return;
+        summaries.add(new Summary(name, text));
+    }
+
+    public synchronized List<Event> events() {
+        return List.copyOf(events);
+    }
+
+    // Hands the buffer to the writer thread. On failure the page HTML and every payload are captured first.
+    // page is null for sessions without one (API tests).
+    public void close(Page page, boolean failed) {
+        if (page != null) BY_PAGE.remove(page);
+        if (failed && !OFF && page != null) payload("page.html", page::content);
+        List<Payload> pending;
+        List<Summary> reports;
+        synchronized (this) {
+            pending = failed && !OFF ? new ArrayList<>(payloads) : List.of();
+            reports = new ArrayList<>(summaries);
+            payloads.clear();
+            summaries.clear();
+        }
+        List<Captured> heavy = new ArrayList<>();
+        for (Payload p : pending) {
+            try {
+                heavy.add(new Captured(p.step(), p.name(), p.content().get()));
+            } catch (RuntimeException e) {
+                note(p.name(), "not captured: " + e.getMessage());
+            }
+        }
+        boolean print = failed || ECHO;
+        if (OFF && !print) reports.clear();
+        for (Summary summary : reports) {
+            String text = summary.text().get();
+            synchronized (this) {
+                add("summary", summary.name(), null, null, text.stripTrailing());
+            }
+            if (print) System.out.print("[" + test + "] " + text);
+        }
+        List<Event> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(events);
+            events.clear();
+        }
+        if (OFF) return;
+        WRITER.submit(() -> {
+            try {
+                write(batch, heavy);
+            } catch (UncheckedIOException e) {
+                System.err.println("Step log for " + test + " not written to " + DIR + ": " + e.getCause().getMessage());
+            }
+        });
+    }
+
+    private void add(String kind, String target, Long millis, String outcome, String message) {
+        if (this == DETACHED) return;
+        events.add(new Event(System.currentTimeMillis(), test, step, kind, target, millis, outcome, message));
+    }
+
+    private void write(List<Event> batch, List<Captured> heavy) {
+        try {
+            Files.createDirectories(DIR);
+            try (BufferedWriter out = Files.newBufferedWriter(FILE, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Event e : batch) {
+                    out.write(GSON.toJson(e));
+                    out.newLine();
+                }
+            }
+            Map<String, Integer> seen = new LinkedHashMap<>();
+            for (Captured p : heavy) {
+                int n = seen.merge(p.step() + "/" + p.name(), 1, Integer::sum);
+                String file = safe(test) + "." + safe(p.step()) + "." + (n > 1 ? n + "." : "") + safe(p.name());
+                Files.writeString(DIR.resolve(file), p.content(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String safe(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
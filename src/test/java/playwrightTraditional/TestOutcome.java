@@ -0,0 +1,19 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// Hands the test's failure (if any) to BaseTest or BaseApiTest before its @AfterEach runs,
+// so teardown can decide which artifacts are worth keeping.
+public class TestOutcome implements AfterTestExecutionCallback {
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Object instance = context.getTestInstance().orElse(null);
+        if (instance instanceof BaseTest test) {
+            test.failure = context.getExecutionException().orElse(null);
+        } else if (instance instanceof BaseApiTest test) {
+            test.failure = context.getExecutionException().orElse(null);
+        }
+    }
+}
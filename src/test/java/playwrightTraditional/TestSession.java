@@ -0,0 +1,142 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * One leased browser context with everything BaseTest attaches to it: network cache, request filter,
+ * tracing and video. Used for the test's own page and for every branch of a {@link Scenario}.
+ */
+public final class TestSession implements AutoCloseable {
+
+    static final VideoPolicy VIDEO = VideoPolicy.fromSystemProperties();
+    static final TraceRecorder TRACE = TraceRecorder.fromSystemProperties();
+
+    private final String label;
+    private final ContextLease lease;
+    private final NetworkCache.Session network;
+    private final RequestFilter requestFilter;
+    private final Page page;
+    private final WaitEngine waits;
+    private final StepLog log;
+    private boolean failed;
+    private boolean closed;
+
+    private TestSession(String label, ContextLease lease, NetworkCache.Session network, RequestFilter requestFilter) {
+        this.label = label;
+        this.lease = lease;
+        this.network = network;
+        this.requestFilter = requestFilter;
+        this.page = lease.context().newPage();
+        this.log = new StepLog(label).attachTo(page);
+        this.waits = new WaitEngine(page).withLog(log);
+    }
+
+    public static TestSession open(String label, NetworkRules rules) {
+        return open(label, rules, BrowserPool.DEFAULT_ENGINE);
+    }
+
+    public static TestSession open(String label, NetworkRules rules, String engine) {
+        // New context per session => clears cache/cookies so “TBD” taxes and cart state are correct
+        // Video is recorded per VideoPolicy (-Dvideo.mode, default: keep only when the test fails)
+        ContextLease lease = BrowserPool.forEngine(engine).lease(VIDEO.apply(new Browser.NewContextOptions()));
+        try {
+            BrowserContext context = lease.context();
+            NetworkCache.Session network = NetworkCache.shared().attach(context); // -Dnetwork.mode=record|replay|refresh
+            // Registered last so it sees requests first; use @NetworkRules on a test to change what is blocked
+            RequestFilter filter = RequestFilter.enabled() ? new RequestFilter(rules).attach(context) : null;
+            TRACE.start(context, label); // -Dtrace.mode, default: keep only when the test fails
+            PerfMetrics.shared().attach(context); // -Dperf.mode, budgets in perf-budgets.properties
+            return new TestSession(label, lease, network, filter);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public ContextLease lease() {
+        return lease;
+    }
+
+    public BrowserContext context() {
+        return lease.context();
+    }
+
+    public Page page() {
+        return page;
+    }
+
+    public WaitEngine waits() {
+        return waits;
+    }
+
+    public StepLog log() {
+        return log;
+    }
+
+    // Marks the session failed, so its trace and video are kept on close
+    public void markFailed() {
+        failed = true;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        boolean keep = failed;
+        Path trace = null;
+        Path recording = null;
+        try {
+            // Written to the step log; printed only for a failed session or with -Dsteplog.echo=true
+            log.summary("waits", waits::report);
+            if (requestFilter != null) log.summary("request-filter", requestFilter::report);
+            if (network != null) log.summary("network-cache", network::report);
+            bestEffort("step log", () -> log.close(page, keep)); // HTML snapshot only when failed; written in the background
+            if (network != null) bestEffort("network cache flush", () -> NetworkCache.shared().flush());
+            bestEffort("locator cache flush", () -> LocatorResolver.shared().flush());
+
+            // The trace and the context are closed here, so the browser goes back to the pool as soon as
+            // Playwright has written the files; reading the trace and keeping the video are file work for the pipeline
+            trace = bestEffort("trace", () -> TRACE.stop(context(), label, keep));
+            page.close(); // finalizes the video file
+            recording = VIDEO.recorded(page.video()); // before the browser is handed to another thread
+        } finally {
+            lease.close(); // closes the context and returns the browser, whatever failed above
+        }
+        Path keptTrace = trace, keptRecording = recording;
+        ArtifactPipeline.shared().finish(label, () -> {
+            TraceReport report = TRACE.report(keptTrace);
+            if (report != null) System.out.print(report.table());
+            Path kept = VIDEO.finish(keptRecording, label, keep);
+            if (kept != null) {
+                ArtifactPipeline.shared().index(kept, label, keep);
+                System.out.println("Video: " + kept);
+            }
+        });
+    }
+
+    // Teardown steps whose failure must not keep the browser from going back to the pool
+    private void bestEffort(String what, Runnable step) {
+        bestEffort(what, () -> {
+            step.run();
+            return null;
+        });
+    }
+
+    private <T> T bestEffort(String what, Supplier<T> step) {
+        try {
+            return step.get();
+        } catch (RuntimeException e) {
+            System.err.println("[" + label + "] " + what + " failed on close: " + e.getMessage());
+            return null;
+        }
+    }
+}
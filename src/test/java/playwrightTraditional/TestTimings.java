@@ -0,0 +1,125 @@
+package playwrightTraditional;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Past durations per test method, keyed "com.example.SomeTest#method". Kept in .cache/test-timings.json
+ * by the shard runner; until that exists, the testcase times in target/surefire-reports are used.
+ */
+public final class TestTimings {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Map<String, Long> millis = new TreeMap<>();
+
+    public static TestTimings load(Path file, Path surefireReports) {
+        TestTimings timings = new TestTimings();
+        timings.readSurefire(surefireReports);
+        if (Files.exists(file)) {
+            try {
+                Map<String, Long> stored = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                        new TypeToken<Map<String, Long>>() {}.getType());
+                if (stored != null) timings.millis.putAll(stored);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return timings;
+    }
+
+    // Tests never timed before count as the median of the known ones (or 30 s with no history)
+    public long estimate(String test) {
+        Long known = millis.get(test);
+        if (known != null) return known;
+        if (millis.isEmpty()) return 30_000;
+        List<Long> sorted = new ArrayList<>(millis.values());
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    public boolean known(String test) {
+        return millis.containsKey(test);
+    }
+
+    public void put(String test, long ms) {
+        millis.put(test, ms);
+    }
+
+    public void putAll(Map<String, Long> measured) {
+        millis.putAll(measured);
+    }
+
+    public void save(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "timings", ".tmp");
+            Files.writeString(tmp, GSON.toJson(millis), StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Map<String, Long> readJson(Path file) {
+        if (!Files.exists(file)) return Map.of();
+        try {
+            Map<String, Long> stored = GSON.fromJson(Files.readString(file, StandardCharsets.UTF_8),
+                    new TypeToken<Map<String, Long>>() {}.getType());
+            return stored == null ? Map.of() : stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static String toJson(Map<String, Long> measured) {
+        return GSON.toJson(measured);
+    }
+
+    // Invocations of one method in one report add up (a matrix test runs per engine); across reports the
+    // longest wins, so a class whose methods ShardRunner spread over several TEST-shard-N-*.xml files
+    // still gets one time per method.
+    private void readSurefire(Path dir) {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path xml : files.filter(f -> isSurefireReport(f.getFileName().toString())).sorted().toList()) {
+                Map<String, Long> perFile = new TreeMap<>();
+                Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(xml.toFile());
+                NodeList cases = doc.getElementsByTagName("testcase");
+                for (int i = 0; i < cases.getLength(); i++) {
+                    Element testcase = (Element) cases.item(i);
+                    String name = testcase.getAttribute("name").replaceAll("\\(.*$", "");
+                    String time = testcase.getAttribute("time").replace(",", "");
+                    if (name.isEmpty() || time.isEmpty()) continue;
+                    perFile.merge(testcase.getAttribute("classname") + "#" + name,
+                            Math.round(Double.parseDouble(time) * 1000), Long::sum);
+                }
+                perFile.forEach((test, ms) -> millis.merge(test, ms, Math::max));
+            }
+        } catch (Exception e) {
+            System.out.println("Ignoring unreadable surefire reports in " + dir + ": " + e.getMessage());
+        }
+    }
+
+    static boolean isSurefireReport(String fileName) {
+        return fileName.matches("TEST-.*\\.xml");
+    }
+}
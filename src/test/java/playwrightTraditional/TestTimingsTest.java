@@ -0,0 +1,71 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Surefire fallback and estimates, from synthetic report files
+class TestTimingsTest {
+
+    @TempDir
+    Path dir;
+
+    private void report(String file, String... cases) throws IOException {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\"?><testsuite>");
+        for (String c : cases) {
+            String[] parts = c.split("=");
+            xml.append("<testcase classname=\"a.ATest\" name=\"").append(parts[0]).append("\" time=\"").append(parts[1]).append("\"/>");
+        }
+        Files.writeString(dir.resolve(file), xml.append("</testsuite>").toString());
+    }
+
+    private TestTimings load() {
+        return TestTimings.load(dir.resolve("missing.json"), dir);
+    }
+
+    @Test
+    void a_class_split_across_shard_reports_keeps_each_method_time() throws IOException {
+        report("TEST-shard-0-a.ATest.xml", "slow()=2.5");
+        report("TEST-shard-1-a.ATest.xml", "fast()=0.1");
+        TestTimings timings = load();
+        assertEquals(2500, timings.estimate("a.ATest#slow"));
+        assertEquals(100, timings.estimate("a.ATest#fast"));
+    }
+
+    @Test
+    void invocations_in_one_report_add_up_and_reports_take_the_longest() throws IOException {
+        report("TEST-a.ATest.xml", "matrix()[1]=1.0", "matrix()[2]=1.5", "matrix()[3]=0.5");
+        report("TEST-a.ATest-rerun.xml", "matrix()[1]=2.0");
+        assertEquals(3000, load().estimate("a.ATest#matrix"));
+    }
+
+    @Test
+    void stored_timings_win_over_surefire() throws IOException {
+        report("TEST-a.ATest.xml", "slow()=2.5");
+        Path stored = dir.resolve("timings.json");
+        Files.writeString(stored, TestTimings.toJson(Map.of("a.ATest#slow", 700L)));
+        assertEquals(700, TestTimings.load(stored, dir).estimate("a.ATest#slow"));
+    }
+
+    @Test
+    void unknown_tests_are_estimated_as_the_median() {
+        TestTimings timings = load();
+        assertEquals(30_000, timings.estimate("a.ATest#new"));
+        timings.putAll(Map.of("a#1", 100L, "a#2", 900L, "a#3", 400L));
+        assertEquals(400, timings.estimate("a.ATest#new"));
+        assertFalse(timings.known("a.ATest#new"));
+    }
+
+    @Test
+    void only_plain_test_reports_are_read() {
+        assertTrue(TestTimings.isSurefireReport("TEST-playwrightTraditional.BookstoreApiTest.xml"));
+        assertTrue(TestTimings.isSurefireReport("TEST-shard-2-playwrightTraditional.BookstoreApiTest.xml"));
+        assertFalse(TestTimings.isSurefireReport("playwrightTraditional.BookstoreApiTest.txt"));
+    }
+}
@@ -0,0 +1,78 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Playwright tracing for BaseTest: -Dtrace.mode=off|on-failure|always (default on-failure), -Dtrace.dir=target/traces.
+ * Kept traces are parsed into a {@link TraceReport} table, printed and saved next to the zip.
+ * Open a kept trace with: mvn exec:java -Dexec.mainClass=com.microsoft.playwright.CLI -Dexec.args="show-trace target/traces/X.zip"
+ */
+public final class TraceRecorder {
+
+    public enum Mode { OFF, ON_FAILURE, ALWAYS }
+
+    private final Mode mode;
+    private final Path dir;
+
+    public TraceRecorder(Mode mode, Path dir) {
+        this.mode = mode;
+        this.dir = dir;
+    }
+
+    public static TraceRecorder fromSystemProperties() {
+        Mode mode = switch (System.getProperty("trace.mode", "on-failure").toLowerCase(Locale.ROOT)) {
+            case "off" -> Mode.OFF;
+            case "always", "on" -> Mode.ALWAYS;
+            default -> Mode.ON_FAILURE;
+        };
+        return new TraceRecorder(mode, Paths.get(System.getProperty("trace.dir", "target/traces")));
+    }
+
+    public void start(BrowserContext context, String testName) {
+        if (mode == Mode.OFF) return;
+        context.tracing().start(new Tracing.StartOptions()
+                .setTitle(testName)
+                .setScreenshots(true)
+                .setSnapshots(true)
+                .setSources(false));
+    }
+
+    // Must run before the context closes; returns the zip of a kept trace, or null. Parsing it is left to report()
+    public Path stop(BrowserContext context, String testName, boolean failed) {
+        if (mode == Mode.OFF) return null;
+        if (mode == Mode.ON_FAILURE && !failed) {
+            context.tracing().stop(); // no path: the trace is discarded
+            return null;
+        }
+        try {
+            Files.createDirectories(dir);
+            String base = testName.replaceAll("[^A-Za-z0-9._-]", "_") + (failed ? "-FAILED" : "");
+            Path zip = dir.resolve(base + ".zip");
+            context.tracing().stop(new Tracing.StopOptions().setPath(zip));
+            System.out.println("Trace: " + zip);
+            return zip;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Reads a kept trace into its step table and saves it next to the zip (.steps.txt); file work only
+    public TraceReport report(Path zip) {
+        if (zip == null) return null;
+        try {
+            TraceReport report = TraceReport.parse(zip);
+            Files.writeString(zip.resolveSibling(zip.getFileName().toString().replaceFirst("\\.zip$", ".steps.txt")), report.table());
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package playwrightTraditional;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads a Playwright trace zip and turns its actions into a per-step timing table
+ * (navigate / click / fill / wait / other), so slow or flaky steps show up without opening the trace viewer.
+ */
+public final class TraceReport {
+
+    public record Step(int index, String category, String api, String target, double startMs, double durationMs, String error) {}
+
+    private static final Set<String> NAVIGATE = Set.of("goto", "reload", "goBack", "goForward", "waitForNavigation", "waitForURL");
+    private static final Set<String> CLICK = Set.of("click", "dblclick", "tap", "check", "uncheck", "setChecked", "hover");
+    private static final Set<String> FILL = Set.of("fill", "type", "press", "pressSequentially", "selectOption", "setInputFiles", "clear");
+
+    private final List<Step> steps;
+
+    private TraceReport(List<Step> steps) {
+        this.steps = steps;
+    }
+
+    public List<Step> steps() {
+        return steps;
+    }
+
+    public static TraceReport parse(Path traceZip) {
+        Map<String, JsonObject> before = new LinkedHashMap<>();
+        Map<String, JsonObject> after = new LinkedHashMap<>();
+        try (ZipFile zip = new ZipFile(traceZip.toFile())) {
+            for (ZipEntry entry : zip.stream().toList()) {
+                if (!entry.getName().endsWith(".trace")) continue;
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(zip.getInputStream(entry), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) continue;
+                        JsonObject event = JsonParser.parseString(line).getAsJsonObject();
+                        String type = string(event, "type");
+                        if ("before".equals(type)) before.put(string(event, "callId"), event);
+                        else if ("after".equals(type)) after.put(string(event, "callId"), event);
+                        else if ("action".equals(type)) {
+                            // Older trace format: one event per action with a metadata block
+                            JsonObject meta = event.has("metadata") ? event.getAsJsonObject("metadata") : event;
+                            before.put(string(meta, "id"), meta);
+                            after.put(string(meta, "id"), meta);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Step> steps = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<String, JsonObject> e : before.entrySet()) {
+            JsonObject start = e.getValue();
+            JsonObject end = after.get(e.getKey());
+            String method = string(start, "method");
+            String api = string(start, "apiName").isEmpty() ? method : string(start, "apiName");
+            // Internal calls without an API name (tracing, route handling) are not test steps
+            if (api.isEmpty() || api.startsWith("tracing") || api.startsWith("route.")) continue;
+            double startTime = number(start, "startTime");
+            double endTime = end == null ? startTime : number(end, "endTime");
+            String error = end != null && end.has("error") ? summarize(end.get("error")) : "";
+            steps.add(new Step(++index, category(method), api, target(start), startTime, endTime - startTime, error));
+        }
+        return new TraceReport(steps);
+    }
+
+    static String category(String method) {
+        if (NAVIGATE.contains(method)) return "navigate";
+        if (CLICK.contains(method)) return "click";
+        if (FILL.contains(method)) return "fill";
+        if (method.startsWith("waitFor") || method.equals("expect")) return "wait";
+        return "other";
+    }
+
+    public String table() {
+        StringBuilder sb = new StringBuilder();
+        double first = steps.isEmpty() ? 0 : steps.get(0).startMs();
+        sb.append(String.format("%4s %9s %9s  %-8s  %-28s %s%n", "#", "at(ms)", "took(ms)", "step", "api", "target"));
+        for (Step s : steps) {
+            sb.append(String.format("%4d %9.0f %9.0f  %-8s  %-28s %s%s%n", s.index(), s.startMs() - first, s.durationMs(),
+                    s.category(), s.api(), truncate(s.target(), 70), s.error().isEmpty() ? "" : "  !! " + truncate(s.error(), 80)));
+        }
+        sb.append("Totals:");
+        totalsByCategory().forEach((cat, ms) -> sb.append(String.format("  %s %.0f ms", cat, ms)));
+        sb.append(System.lineSeparator()).append("Slowest:");
+        steps.stream().sorted(Comparator.comparingDouble(Step::durationMs).reversed()).limit(5)
+                .forEach(s -> sb.append(String.format("  #%d %s %.0f ms", s.index(), s.api(), s.durationMs())));
+        return sb.append(System.lineSeparator()).toString();
+    }
+
+    public Map<String, Double> totalsByCategory() {
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (String cat : List.of("navigate", "click", "fill", "wait", "other")) totals.put(cat, 0.0);
+        for (Step s : steps) totals.merge(s.category(), s.durationMs(), Double::sum);
+        return totals;
+    }
+
+    private static String target(JsonObject event) {
+        if (!event.has("params") || !event.get("params").isJsonObject()) return "";
+        JsonObject params = event.getAsJsonObject("params");
+        for (String key : List.of("selector", "url", "expression", "key", "text")) {
+            if (params.has(key) && params.get(key).isJsonPrimitive()) return params.get(key).getAsString();
+        }
+        return "";
+    }
+
+    private static String summarize(JsonElement error) {
+        if (error.isJsonObject()) {
+            JsonObject obj = error.getAsJsonObject();
+            if (obj.has("message")) return obj.get("message").getAsString().lines().findFirst().orElse("");
+            if (obj.has("error")) return summarize(obj.get("error"));
+        }
+        return error.toString();
+    }
+
+    private static String string(JsonObject obj, String key) {
+        return obj.has(key) && obj.get(key).isJsonPrimitive() ? obj.get(key).getAsString() : "";
+    }
+
+    private static double number(JsonObject obj, String key) {
+        return obj.has(key) && obj.get(key).isJsonPrimitive() ? obj.get(key).getAsDouble() : 0;
+    }
+
+    private static String truncate(String s, int max) {
+        String oneLine = s.replace('\n', ' ');
+        return oneLine.length() <= max ? oneLine : oneLine.substring(0, max - 3) + "...";
+    }
+}
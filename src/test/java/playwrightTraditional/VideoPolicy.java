@@ -0,0 +1,166 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Video;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * When to keep test videos and at what size.
+ * Configured with -Dvideo.mode=off|on-failure|always (default on-failure), -Dvideo.size=1280x720,
+ * -Dvideo.dir=videos, and three ffmpeg post-processing options for kept videos:
+ * -Dvideo.window=N keeps only the last N seconds, -Dvideo.fps=N re-encodes at N frames per second,
+ * -Dvideo.scale=W downscales to W pixels wide. {@link #recorded} runs on the closing thread; the
+ * file-only {@link #finish(Path, String, boolean)} runs on the ArtifactPipeline.
+ *
+ * Playwright has no ring-buffer recording, so on-failure records every test to a scratch directory
+ * and deletes the file as soon as the test passes.
+ */
+public final class VideoPolicy {
+
+    public enum Mode { OFF, ON_FAILURE, ALWAYS }
+
+    private static final Path SCRATCH = Paths.get("target", "video-tmp");
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String DEFAULT_SIZE = "1280x720";
+    private static final Pattern SIZE = Pattern.compile("(\\d{1,5})\\s*[xX]\\s*(\\d{1,5})");
+
+    private final Mode mode;
+    private final int width;
+    private final int height;
+    private final int fps;
+    private final int windowSeconds;
+    private final int scaleWidth;
+    private final Path dir;
+    private final String ffmpeg;
+
+    public VideoPolicy(Mode mode, int width, int height, int fps, int windowSeconds, int scaleWidth, Path dir, String ffmpeg) {
+        this.mode = mode;
+        this.width = width;
+        this.height = height;
+        this.fps = fps;
+        this.windowSeconds = windowSeconds;
+        this.scaleWidth = scaleWidth;
+        this.dir = dir;
+        this.ffmpeg = ffmpeg;
+    }
+
+    public static VideoPolicy fromSystemProperties() {
+        Mode mode = switch (System.getProperty("video.mode", "on-failure").toLowerCase(Locale.ROOT)) {
+            case "off" -> Mode.OFF;
+            case "always", "on" -> Mode.ALWAYS;
+            default -> Mode.ON_FAILURE;
+        };
+        int[] size = size(System.getProperty("video.size", DEFAULT_SIZE));
+        return new VideoPolicy(mode, size[0], size[1],
+                Integer.getInteger("video.fps", 0),
+                Integer.getInteger("video.window", 0),
+                Integer.getInteger("video.scale", 0),
+                Paths.get(System.getProperty("video.dir", "videos")),
+                System.getProperty("video.ffmpeg", "ffmpeg"));
+    }
+
+    // "WIDTHxHEIGHT"; anything else falls back to the default with a warning rather than failing every test's setup
+    static int[] size(String value) {
+        Matcher m = SIZE.matcher(value.trim());
+        if (m.matches()) {
+            int width = Integer.parseInt(m.group(1)), height = Integer.parseInt(m.group(2));
+            if (width > 0 && height > 0) return new int[]{width, height};
+        }
+        System.err.println("Ignoring -Dvideo.size=" + value + " (expected WIDTHxHEIGHT, e.g. 1280x720); using " + DEFAULT_SIZE);
+        return size(DEFAULT_SIZE);
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public Browser.NewContextOptions apply(Browser.NewContextOptions options) {
+        if (mode == Mode.OFF) return options;
+        return options
+                .setRecordVideoDir(mode == Mode.ALWAYS ? dir : SCRATCH)
+                .setRecordVideoSize(width, height);
+    }
+
+    // Call after the context is closed; returns the kept file, or null when the video was dropped
+    public Path finish(Video video, String testName, boolean failed) {
+        return finish(recorded(video), testName, failed);
+    }
+
+    // The finished recording as a plain file, so later work needs no Playwright calls. Call right after
+    // the context is closed and before the browser is reused: remote browsers copy the file over here
+    public Path recorded(Video video) {
+        if (video == null || mode == Mode.OFF) return null;
+        try {
+            return video.path();
+        } catch (PlaywrightException e) {
+            // Connected to a browser server: the recording only exists on its side
+            Path copy = SCRATCH.resolve(UUID.randomUUID() + ".webm");
+            video.saveAs(copy);
+            video.delete();
+            return copy;
+        }
+    }
+
+    // Keeps or deletes a recording made under this policy; returns the kept file, or null when it was dropped
+    public Path finish(Path recording, String testName, boolean failed) {
+        if (recording == null || mode == Mode.OFF) return null;
+        try {
+            if (mode == Mode.ON_FAILURE && !failed) {
+                Files.deleteIfExists(recording);
+                return null;
+            }
+            Files.createDirectories(dir);
+            String name = testName.replaceAll("[^A-Za-z0-9._-]", "_")
+                    + "-" + LocalDateTime.now().format(STAMP) + (failed ? "-FAILED" : "") + ".webm";
+            Path target = dir.resolve(name);
+            Files.move(recording, target, StandardCopyOption.REPLACE_EXISTING);
+            return postProcess(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Trims to the recent window, changes the frame rate and/or downscales; leaves the file alone if ffmpeg is missing
+    private Path postProcess(Path file) {
+        if (windowSeconds <= 0 && fps <= 0 && scaleWidth <= 0) return file;
+        List<String> cmd = new ArrayList<>(List.of(ffmpeg, "-y", "-loglevel", "error"));
+        if (windowSeconds > 0) cmd.addAll(List.of("-sseof", "-" + windowSeconds));
+        cmd.addAll(List.of("-i", file.toString()));
+        if (fps > 0) cmd.addAll(List.of("-r", String.valueOf(fps)));
+        if (scaleWidth > 0) cmd.addAll(List.of("-vf", "scale=" + scaleWidth + ":-2"));
+        cmd.addAll(List.of("-c:v", "libvpx", "-b:v", "1M"));
+        Path out = file.resolveSibling(file.getFileName().toString().replace(".webm", ".tmp.webm"));
+        cmd.add(out.toString());
+        try {
+            Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+            if (!process.waitFor(2, TimeUnit.MINUTES) || process.exitValue() != 0) {
+                process.destroyForcibly();
+                Files.deleteIfExists(out);
+                System.err.println("Video post-processing failed for " + file + "; keeping the original recording");
+                return file;
+            }
+            Files.move(out, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.println("Video post-processing skipped (" + ffmpeg + " not available): " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,22 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// -Dvideo.size parsing; a bad value must not break every session's setup
+class VideoPolicyTest {
+
+    @Test
+    void size_reads_width_and_height() {
+        assertArrayEquals(new int[]{800, 600}, VideoPolicy.size("800x600"));
+        assertArrayEquals(new int[]{1920, 1080}, VideoPolicy.size(" 1920 X 1080 "));
+    }
+
+    @Test
+    void malformed_size_falls_back_to_the_default() {
+        for (String bad : new String[]{"", "1280", "1280x", "wide", "0x720", "1280x720x3", "99999999x1"}) {
+            assertArrayEquals(new int[]{1280, 720}, VideoPolicy.size(bad), bad);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotCaret;
+import com.microsoft.playwright.options.ScreenshotAnimations;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Screenshot checkpoints compared against stored baselines.
+ *
+ * Prices, totals and anything else that legitimately changes are masked by Playwright before the
+ * screenshot is taken, so masked regions are identical in both images. The comparison splits the page
+ * into tiles and diffs them in parallel; two pixels differ when their YIQ colour distance exceeds
+ * -Dvisual.threshold (0..1, default 0.1), and a checkpoint mismatches when more than -Dvisual.maxDiffRatio
+ * of its pixels (default 0.001) differ.
+ *
+ * Baselines live in -Dvisual.baselines (default visual-baselines/), in a folder per target ("stand-in", or
+ * the host of -Dbookstore.url), one maximally compressed PNG per checkpoint and browser.
+ * -Dvisual.mode=verify (default; a missing baseline fails the checkpoint), compare (a missing baseline is only
+ * noted in the step log), update or off. Baselines are only ever written in update mode.
+ * Only a failed checkpoint writes files to target/visual-diffs: the actual screenshot and, on a mismatch, a diff image.
+ */
+public final class VisualCheckpoint {
+
+    public enum Mode { OFF, COMPARE, VERIFY, UPDATE }
+
+    // UNCHECKED: no baseline in compare mode (reported); MISSING: no baseline in verify mode (fails)
+    public enum Status { MATCHED, MISMATCHED, UNCHECKED, MISSING, UPDATED, SKIPPED }
+
+    public record Result(String name, Status status, int diffPixels, int totalPixels, long millis, Path diff) {
+
+        public double ratio() {
+            return totalPixels == 0 ? 0 : (double) diffPixels / totalPixels;
+        }
+
+        public void assertMatches() {
+            if (status == Status.MISMATCHED) {
+                fail(String.format(Locale.ROOT, "Visual checkpoint '%s' differs from its baseline in %d pixels (%.3f%%); see %s",
+                        name, diffPixels, ratio() * 100, diff));
+            }
+            if (status == Status.MISSING) {
+                fail("Visual checkpoint '" + name + "' has no baseline; record one with -Dvisual.mode=update (candidate: " + diff + ")");
+            }
+        }
+    }
+
+    // Dynamic content masked on every checkpoint: money amounts and times of day
+    static final List<String> DEFAULT_MASKS = List.of("text=/\\$\\d+\\.\\d{2}/", "text=/\\d{1,2}:\\d{2}\\s*(AM|PM)?/i");
+
+    private static final int TILE = 128;
+    // Largest possible YIQ distance between two colours, the scale pixelmatch applies its threshold to
+    private static final double MAX_YIQ_DELTA = 35215;
+    private static final String MASK_COLOR = "#FF00FF";
+
+    private static final VisualCheckpoint SHARED = new VisualCheckpoint(
+            switch (System.getProperty("visual.mode", "verify").toLowerCase(Locale.ROOT)) {
+                case "off" -> Mode.OFF;
+                case "compare" -> Mode.COMPARE;
+                case "update" -> Mode.UPDATE;
+                default -> Mode.VERIFY;
+            },
+            Paths.get(System.getProperty("visual.baselines", "visual-baselines")).resolve(target()),
+            Paths.get("target", "visual-diffs").resolve(target()),
+            Double.parseDouble(System.getProperty("visual.threshold", "0.1")),
+            Double.parseDouble(System.getProperty("visual.maxDiffRatio", "0.001")));
+
+    public static VisualCheckpoint shared() {
+        return SHARED;
+    }
+
+    // The stand-in and the live storefront render differently, so each has its own baselines
+    static String target() {
+        String url = System.getProperty("bookstore.url");
+        return url == null || url.isBlank() ? "stand-in" : URI.create(url.trim()).getHost();
+    }
+
+    private final Mode mode;
+    private final Path baselines;
+    private final Path diffs;
+    private final double maxDelta;
+    private final double maxDiffRatio;
+
+    public VisualCheckpoint(Mode mode, Path baselines, Path diffs, double threshold, double maxDiffRatio) {
+        this.mode = mode;
+        this.baselines = baselines;
+        this.diffs = diffs;
+        this.maxDelta = MAX_YIQ_DELTA * threshold * threshold;
+        this.maxDiffRatio = maxDiffRatio;
+    }
+
+    // Full-page screenshot with the default masks plus any extra selectors, compared against "<name>.<browser>.png"
+    public Result check(Page page, String name, String... extraMasks) {
+        if (mode == Mode.OFF) return new Result(name, Status.SKIPPED, 0, 0, 0, null);
+        long start = System.nanoTime();
+        List<Locator> masks = new ArrayList<>();
+        for (String selector : DEFAULT_MASKS) masks.add(page.locator(selector));
+        for (String selector : extraMasks) masks.add(page.locator(selector));
+
+        byte[] png = page.screenshot(new Page.ScreenshotOptions()
+                .setFullPage(true)
+                .setAnimations(ScreenshotAnimations.DISABLED)
+                .setCaret(ScreenshotCaret.HIDE)
+                .setMask(masks)
+                .setMaskColor(MASK_COLOR));
+        String browser = page.context().browser() == null ? "browser" : page.context().browser().browserType().name();
+        Result result = compare(name + "." + browser, png, start);
+        if (result.status() == Status.MISSING || result.status() == Status.UNCHECKED) {
+            StepLog.of(page).note("visual " + name, "no baseline " + baselines.resolve(result.name() + ".png")
+                    + "; record it with -Dvisual.mode=update");
+        } else {
+            StepLog.of(page).note("visual " + name, String.format(Locale.ROOT, "%s, %d/%d pixels differ, %d ms",
+                    result.status(), result.diffPixels(), result.totalPixels(), result.millis()));
+        }
+        return result;
+    }
+
+    Result compare(String key, byte[] png, long startNanos) {
+        try {
+            BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+            Path baselineFile = baselines.resolve(key + ".png");
+            int total = actual.getWidth() * actual.getHeight();
+            if (mode == Mode.UPDATE) {
+                Files.createDirectories(baselines);
+                Files.write(baselineFile, compress(actual));
+                return new Result(key, Status.UPDATED, 0, total, elapsed(startNanos), null);
+            }
+            if (!Files.exists(baselineFile)) {
+                if (mode == Mode.COMPARE) return new Result(key, Status.UNCHECKED, 0, total, elapsed(startNanos), null);
+                Path candidate = writeMismatch(key, actual, null, null);
+                return new Result(key, Status.MISSING, 0, total, elapsed(startNanos), candidate);
+            }
+
+            BufferedImage baseline = ImageIO.read(baselineFile.toFile());
+            if (baseline.getWidth() != actual.getWidth() || baseline.getHeight() != actual.getHeight()) {
+                Path diff = writeMismatch(key, actual, baseline, null);
+                return new Result(key, Status.MISMATCHED, total, total, elapsed(startNanos), diff);
+            }
+
+            int[] a = actual.getRGB(0, 0, actual.getWidth(), actual.getHeight(), null, 0, actual.getWidth());
+            int[] b = baseline.getRGB(0, 0, baseline.getWidth(), baseline.getHeight(), null, 0, baseline.getWidth());
+            int differing = countDiffs(a, b, actual.getWidth(), actual.getHeight(), null);
+            if (differing <= total * maxDiffRatio) {
+                return new Result(key, Status.MATCHED, differing, total, elapsed(startNanos), null);
+            }
+            Path diff = writeMismatch(key, actual, baseline, new int[][]{a, b});
+            return new Result(key, Status.MISMATCHED, differing, total, elapsed(startNanos), diff);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Tiles are independent, so they are compared on the common pool; marks (if given) gets red pixels
+    // where the images differ and a faded copy of the baseline elsewhere
+    int countDiffs(int[] a, int[] b, int width, int height, int[] marks) {
+        int cols = (width + TILE - 1) / TILE;
+        int rows = (height + TILE - 1) / TILE;
+        AtomicInteger differing = new AtomicInteger();
+        IntStream.range(0, cols * rows).parallel().forEach(tile -> {
+            int x0 = (tile % cols) * TILE, y0 = (tile / cols) * TILE;
+            int x1 = Math.min(width, x0 + TILE), y1 = Math.min(height, y0 + TILE);
+            int count = 0;
+            for (int y = y0; y < y1; y++) {
+                for (int i = y * width + x0, end = y * width + x1; i < end; i++) {
+                    boolean differs = a[i] != b[i] && yiqDelta(a[i], b[i]) > maxDelta;
+                    if (differs) count++;
+                    if (marks != null) marks[i] = differs ? 0xFFFF0000 : faded(b[i]);
+                }
+            }
+            if (count > 0) differing.addAndGet(count);
+        });
+        return differing.get();
+    }
+
+    private Path writeMismatch(String key, BufferedImage actual, BufferedImage baseline, int[][] pixels) throws IOException {
+        Files.createDirectories(diffs);
+        Files.write(diffs.resolve(key + ".actual.png"), compress(actual));
+        if (pixels == null) return diffs.resolve(key + ".actual.png"); // no baseline or sizes differ, nothing to overlay
+
+        int width = actual.getWidth(), height = actual.getHeight();
+        int[] marks = new int[width * height];
+        countDiffs(pixels[0], pixels[1], width, height, marks);
+        BufferedImage diff = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        diff.setRGB(0, 0, width, height, marks, 0, width);
+        Path out = diffs.resolve(key + ".diff.png");
+        Files.write(out, compress(diff));
+        return out;
+    }
+
+    // Perceptual colour distance (YIQ), as used by pixelmatch
+    static double yiqDelta(int p, int q) {
+        int r1 = (p >> 16) & 0xFF, g1 = (p >> 8) & 0xFF, b1 = p & 0xFF;
+        int r2 = (q >> 16) & 0xFF, g2 = (q >> 8) & 0xFF, b2 = q & 0xFF;
+        double y = (r1 - r2) * 0.29889531 + (g1 - g2) * 0.58662247 + (b1 - b2) * 0.11448223;
+        double i = (r1 - r2) * 0.59597799 - (g1 - g2) * 0.27417610 - (b1 - b2) * 0.32180189;
+        double j = (r1 - r2) * 0.21147017 - (g1 - g2) * 0.52261711 + (b1 - b2) * 0.31114694;
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * j * j;
+    }
+
+    private static int faded(int rgb) {
+        int gray = (((rgb >> 16) & 0xFF) * 30 + ((rgb >> 8) & 0xFF) * 59 + (rgb & 0xFF) * 11) / 100;
+        int light = 255 - (255 - gray) / 4;
+        return 0xFF000000 | light << 16 | light << 8 | light;
+    }
+
+    // PNG at the strongest deflate level; Playwright's screenshots use a faster one
+    static byte[] compress(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.0f); // 0 = smallest file; PNG stays lossless
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static long elapsed(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,99 @@
+package playwrightTraditional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pixel comparison and baseline handling on synthetic images; no browser involved
+class VisualCheckpointTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int BLACK = 0xFF000000;
+
+    @TempDir
+    Path dir;
+
+    private VisualCheckpoint checkpoint(VisualCheckpoint.Mode mode) {
+        return new VisualCheckpoint(mode, dir.resolve("baselines"), dir.resolve("diffs"), 0.1, 0.001);
+    }
+
+    private static int[] filled(int size, int rgb) {
+        int[] pixels = new int[size];
+        Arrays.fill(pixels, rgb);
+        return pixels;
+    }
+
+    private static byte[] png(int[] pixels, int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, pixels, 0, width);
+        return VisualCheckpoint.compress(image);
+    }
+
+    @Test
+    void yiq_delta_grows_with_colour_distance() {
+        assertEquals(0, VisualCheckpoint.yiqDelta(0xFF336699, 0xFF336699));
+        assertEquals(VisualCheckpoint.yiqDelta(BLACK, WHITE), VisualCheckpoint.yiqDelta(WHITE, BLACK));
+        assertTrue(VisualCheckpoint.yiqDelta(0xFF808080, 0xFF818181) < VisualCheckpoint.yiqDelta(0xFF808080, 0xFFA0A0A0));
+        assertTrue(VisualCheckpoint.yiqDelta(0xFF808080, 0xFFA0A0A0) < VisualCheckpoint.yiqDelta(BLACK, WHITE));
+        assertTrue(VisualCheckpoint.yiqDelta(BLACK, WHITE) <= 35215);
+    }
+
+    @Test
+    void count_diffs_finds_changed_pixels_across_tiles() {
+        int width = 300, height = 200; // several 128px tiles, the last ones partial
+        int[] a = filled(width * height, WHITE);
+        int[] b = a.clone();
+        b[0] = BLACK;
+        b[150 * width + 290] = BLACK; // bottom-right partial tile
+        b[10 * width + 10] = 0xFFFEFEFE; // below the threshold
+        int[] marks = new int[width * height];
+
+        assertEquals(2, checkpoint(VisualCheckpoint.Mode.COMPARE).countDiffs(a, b, width, height, marks));
+        assertEquals(0xFFFF0000, marks[0]);
+        assertEquals(0xFFFF0000, marks[150 * width + 290]);
+        assertNotEquals(0xFFFF0000, marks[10 * width + 10]);
+    }
+
+    @Test
+    void missing_baseline_in_compare_mode_writes_nothing() throws IOException {
+        VisualCheckpoint.Result result = checkpoint(VisualCheckpoint.Mode.COMPARE).compare("cart.chromium", png(filled(16, WHITE), 4, 4), System.nanoTime());
+        assertEquals(VisualCheckpoint.Status.UNCHECKED, result.status());
+        assertFalse(Files.exists(dir.resolve("baselines/cart.chromium.png")));
+        assertNull(result.diff());
+        assertFalse(Files.exists(dir.resolve("diffs")));
+        assertDoesNotThrow(result::assertMatches);
+    }
+
+    @Test
+    void missing_baseline_fails_in_verify_mode() throws IOException {
+        VisualCheckpoint.Result result = checkpoint(VisualCheckpoint.Mode.VERIFY).compare("cart.chromium", png(filled(16, WHITE), 4, 4), System.nanoTime());
+        assertEquals(VisualCheckpoint.Status.MISSING, result.status());
+        assertFalse(Files.exists(dir.resolve("baselines/cart.chromium.png")));
+        assertTrue(Files.exists(result.diff()));
+        assertThrows(AssertionError.class, result::assertMatches);
+    }
+
+    @Test
+    void update_then_compare() throws IOException {
+        byte[] baseline = png(filled(16, WHITE), 4, 4);
+        assertEquals(VisualCheckpoint.Status.UPDATED,
+                checkpoint(VisualCheckpoint.Mode.UPDATE).compare("cart.chromium", baseline, System.nanoTime()).status());
+
+        VisualCheckpoint compare = checkpoint(VisualCheckpoint.Mode.COMPARE);
+        assertEquals(VisualCheckpoint.Status.MATCHED, compare.compare("cart.chromium", baseline, System.nanoTime()).status());
+
+        int[] changed = filled(16, WHITE);
+        changed[5] = BLACK;
+        VisualCheckpoint.Result result = compare.compare("cart.chromium", png(changed, 4, 4), System.nanoTime());
+        assertEquals(VisualCheckpoint.Status.MISMATCHED, result.status());
+        assertEquals(1, result.diffPixels());
+        assertTrue(Files.exists(dir.resolve("diffs/cart.chromium.diff.png")));
+    }
+}
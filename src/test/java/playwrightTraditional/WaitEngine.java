@@ -0,0 +1,207 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.LoadState;
+import com.microsoft.playwright.options.WaitForSelectorState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Event-driven replacement for fixed page.waitForTimeout sleeps.
+ * Every wait returns as soon as its condition holds and records how long it actually took.
+ */
+public class WaitEngine {
+
+    public record WaitRecord(String label, long millis, boolean satisfied) {}
+
+    // Selector for the search result grid that facets re-render
+    static final String FACET_RESULTS = ".product-list, .products, main";
+
+    // Looks the header link up on every poll, so a header re-rendered by the add-to-cart call is still seen
+    private static final String CART_COUNT_FN = """
+            n => [...document.querySelectorAll('a')]
+              .some(a => new RegExp('Cart\\\\s*(\\\\|\\\\s*)?' + n + '\\\\s*items?', 'i').test(a.innerText))""";
+
+    // Arms a MutationObserver on the first element matching the selector (falls back to <body>).
+    // The promise resolves true on the first mutation, or false once the timeout runs out.
+    private static final String ARM_MUTATION_FN = """
+            ([key, sel, timeout]) => {
+              window.__waits = window.__waits || {};
+              const target = document.querySelector(sel) || document.body;
+              window.__waits[key] = new Promise(resolve => {
+                const obs = new MutationObserver(() => { obs.disconnect(); resolve(true); });
+                obs.observe(target, { childList: true, subtree: true, attributes: true, characterData: true });
+                setTimeout(() => { obs.disconnect(); resolve(false); }, timeout);
+              });
+            }""";
+
+    private static final String AWAIT_MUTATION_FN =
+            "key => window.__waits && window.__waits[key] ? window.__waits[key] : true";
+
+    private final Page page;
+    private final List<WaitRecord> records = new ArrayList<>();
+    private double timeout = Double.parseDouble(System.getProperty("waits.timeoutMs", "30000"));
+    private StepLog log;
+    private int nextKey;
+
+    public WaitEngine(Page page) {
+        this.page = page;
+    }
+
+    public WaitEngine withTimeout(double timeoutMs) {
+        this.timeout = timeoutMs;
+        return this;
+    }
+
+    // Also reports every wait to the step log as it happens
+    public WaitEngine withLog(StepLog log) {
+        this.log = log;
+        return this;
+    }
+
+    // Runs the action and waits for the first DOM mutation under selector.
+    // Returns false (without failing) when nothing changed within timeoutMs.
+    public boolean forMutation(String selector, double timeoutMs, Runnable action) {
+        long start = System.nanoTime();
+        boolean changed = false;
+        try {
+            changed = awaitMutation(selector, timeoutMs, action);
+        } finally {
+            record("mutation " + selector, start, changed);
+        }
+        return changed;
+    }
+
+    public boolean forMutation(String selector, Runnable action) {
+        return forMutation(selector, 5000, action);
+    }
+
+    // Runs the action and waits for a response matching the predicate
+    public Response forResponse(String label, Predicate<Response> matcher, Runnable action) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            Response response = page.waitForResponse(matcher,
+                    new Page.WaitForResponseOptions().setTimeout(timeout), action);
+            ok = true;
+            return response;
+        } finally {
+            record("response " + label, start, ok);
+        }
+    }
+
+    public Response forResponse(String urlPart, Runnable action) {
+        return forResponse(urlPart, r -> r.url().contains(urlPart), action);
+    }
+
+    // Clicking a facet either re-renders the result grid in place or reloads the page.
+    // Returns false when neither happened within the timeout.
+    public boolean forFacetRerender(Runnable action) {
+        long start = System.nanoTime();
+        boolean changed = false;
+        try {
+            changed = awaitMutation(FACET_RESULTS, timeout, action);
+            if (changed) page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+        } finally {
+            record("facet re-render", start, changed);
+        }
+        return changed;
+    }
+
+    // Waits until the header cart link reads "Cart | n items"
+    public void forCartCount(int count) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            page.waitForFunction(CART_COUNT_FN, count, new Page.WaitForFunctionOptions().setTimeout(timeout));
+            ok = true;
+        } finally {
+            record("cart count " + count, start, ok);
+        }
+    }
+
+    // Waits for the checkout sidebar to recalculate tax; see SidebarWatch
+    public SidebarWatch.Totals forSidebarUpdate(double timeoutMs) {
+        long start = System.nanoTime();
+        boolean loaded = false;
+        try {
+            SidebarWatch.Totals totals = SidebarWatch.await(page, timeoutMs);
+            loaded = totals.taxLoaded();
+            return totals;
+        } finally {
+            record("sidebar update", start, loaded);
+        }
+    }
+
+    public void forVisible(Locator locator, String label) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            locator.waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(timeout));
+            ok = true;
+        } finally {
+            record("visible " + label, start, ok);
+        }
+    }
+
+    public void forCondition(String label, BooleanSupplier condition) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            page.waitForCondition(condition, new Page.WaitForConditionOptions().setTimeout(timeout));
+            ok = true;
+        } finally {
+            record(label, start, ok);
+        }
+    }
+
+    public List<WaitRecord> records() {
+        return List.copyOf(records);
+    }
+
+    public long totalMillis() {
+        return records.stream().mapToLong(WaitRecord::millis).sum();
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder("Waits (" + records.size() + ", " + totalMillis() + " ms total)\n");
+        for (WaitRecord r : records) {
+            sb.append(String.format("  %6d ms  %s%s%n", r.millis(), r.label(), r.satisfied() ? "" : "  [not satisfied]"));
+        }
+        return sb.toString();
+    }
+
+    private boolean awaitMutation(String selector, double timeoutMs, Runnable action) {
+        String key = "m" + (nextKey++);
+        try {
+            page.evaluate(ARM_MUTATION_FN, new Object[]{key, selector, timeoutMs});
+            action.run();
+            return Boolean.TRUE.equals(page.evaluate(AWAIT_MUTATION_FN, key));
+        } catch (PlaywrightException e) {
+            // The action navigated away: the old document is gone, which is a change too
+            if (!isContextDestroyed(e)) throw e;
+            page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+            return true;
+        }
+    }
+
+    private void record(String label, long startNanos, boolean satisfied) {
+        WaitRecord r = new WaitRecord(label, (System.nanoTime() - startNanos) / 1_000_000, satisfied);
+        records.add(r);
+        if (log != null) log.waited(r.label(), r.millis(), r.satisfied());
+    }
+
+    // Only the driver's own message counts; the call log below it mentions navigations on unrelated errors too
+    static boolean isContextDestroyed(PlaywrightException e) {
+        String headline = FlakinessTracker.headline(e);
+        return headline.contains("Execution context was destroyed") || headline.contains("Cannot find context with specified id");
+    }
+}
@@ -0,0 +1,27 @@
+package playwrightTraditional;
+
+import com.microsoft.playwright.PlaywrightException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Which driver errors count as "the action navigated away"
+class WaitEngineTest {
+
+    private static PlaywrightException driverError(String message, String callLog) {
+        return new PlaywrightException("Error {\n  message='" + message + "\n" + callLog + "'\n  name='Error'\n}");
+    }
+
+    @Test
+    void destroyed_context_is_a_navigation() {
+        assertTrue(WaitEngine.isContextDestroyed(driverError(
+                "Execution context was destroyed, most likely because of a navigation", "")));
+    }
+
+    @Test
+    void navigation_in_the_call_log_is_not() {
+        assertFalse(WaitEngine.isContextDestroyed(driverError("Element is not an <input>",
+                "Call log:\n  - waiting for navigation to finish...")));
+        assertFalse(WaitEngine.isContextDestroyed(new PlaywrightException("Timeout 30000ms exceeded during navigation")));
+    }
+}
@@ -0,0 +1,84 @@
+// Client behaviour of the stand-in storefront: facets, cart, promo codes and tax recalculation.
+(function () {
+  function post(url, data) {
+    return fetch(url, {
+      method: 'POST',
+      headers: { 'Content-Type': 'application/x-www-form-urlencoded' },
+      body: new URLSearchParams(data).toString()
+    }).then(function (r) { return r.json(); });
+  }
+
+  function setCartCount(count) {
+    document.querySelectorAll('[data-cart-count]').forEach(function (el) { el.textContent = count; });
+  }
+
+  // Facets: headers toggle their option list, option changes re-render the product grid in place
+  document.querySelectorAll('.facet__name').forEach(function (header) {
+    header.addEventListener('click', function () {
+      var list = header.parentElement.querySelector('.facet__list');
+      var open = header.getAttribute('aria-expanded') === 'true';
+      header.setAttribute('aria-expanded', String(!open));
+      list.hidden = open;
+    });
+  });
+
+  var searchPage = document.querySelector('.search-page');
+  if (searchPage) {
+    searchPage.addEventListener('change', function () {
+      var params = new URLSearchParams();
+      params.append('text', searchPage.dataset.query);
+      searchPage.querySelectorAll('.facet input:checked').forEach(function (input) {
+        params.append(input.name, input.value);
+      });
+      fetch('/search/results?' + params.toString())
+        .then(function (r) { return r.text(); })
+        .then(function (html) {
+          var grid = searchPage.querySelector('.product-list');
+          grid.innerHTML = html;
+          grid.dataset.version = String(Number(grid.dataset.version || 0) + 1);
+        });
+    });
+  }
+
+  document.querySelectorAll('[data-add-to-cart]').forEach(function (button) {
+    button.addEventListener('click', function () {
+      post('/cart/add', { sku: button.dataset.addToCart }).then(function (cart) { setCartCount(cart.count); });
+    });
+  });
+
+  document.querySelectorAll('.bned-cart-remove').forEach(function (button) {
+    button.addEventListener('click', function () {
+      post('/cart/remove', { sku: button.dataset.sku }).then(function (cart) {
+        setCartCount(cart.count);
+        if (cart.count === 0) {
+          document.querySelector('.bned-cart-body').outerHTML =
+            '<p class="bned-cart-empty">Your cart is empty</p>';
+        } else {
+          button.closest('.bned-cart-item').remove();
+        }
+      });
+    });
+  });
+
+  var apply = document.querySelector('[data-apply-promo]');
+  if (apply) {
+    apply.addEventListener('click', function () {
+      var code = document.querySelector('.bned-promo input').value;
+      post('/cart/promo', { code: code }).then(function (result) {
+        document.querySelector('.bned-promo-message').textContent = result.valid ? 'Promo code applied.' : result.message;
+      });
+    });
+  }
+
+  // Checkout sidebar shows "TBD" until the tax service answers
+  var summary = document.querySelector('[data-tax-step]');
+  if (summary) {
+    fetch('/cart/tax?step=' + encodeURIComponent(summary.dataset.taxStep))
+      .then(function (r) { return r.json(); })
+      .then(function (result) {
+        if (result.tax === null) return;
+        summary.querySelector('[data-summary="tax"]').textContent = '$' + result.tax;
+        summary.querySelector('[data-summary="total"]').textContent = '$' + result.total;
+      });
+  }
+})();